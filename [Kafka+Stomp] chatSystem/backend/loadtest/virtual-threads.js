@@ -0,0 +1,101 @@
+// 가상 스레드 모드 부하 테스트 (k6)
+//
+// 대부분 유휴 상태인 STOMP 연결을 다수 유지한 채 REST 조회와 메시지 전송 지연을 측정한다.
+// 같은 시나리오를 두 번 실행해 결과(ws_connect_failed, http_req_duration, stomp_delivery_latency)를 비교:
+//   SPRING_THREADS_VIRTUAL_ENABLED=false ./gradlew bootRun   ->  k6 run loadtest/virtual-threads.js
+//   SPRING_THREADS_VIRTUAL_ENABLED=true  ./gradlew bootRun   ->  k6 run loadtest/virtual-threads.js
+//
+// 환경 변수: BASE_URL(기본 http://localhost:8080), ROOM_ID(기본 1), IDLE_CONNECTIONS(기본 2000), REST_RATE(기본 500/s)
+import http from 'k6/http';
+import ws from 'k6/ws';
+import { check } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const WS_URL = BASE_URL.replace(/^http/, 'ws') + '/ws/websocket';
+const ROOM_ID = __ENV.ROOM_ID || '1';
+const IDLE_CONNECTIONS = parseInt(__ENV.IDLE_CONNECTIONS || '2000');
+const REST_RATE = parseInt(__ENV.REST_RATE || '500');
+
+const wsConnectFailed = new Counter('ws_connect_failed');
+// 보낸 메시지가 Kafka를 거쳐 자신의 구독으로 돌아오기까지의 왕복 지연
+const stompDeliveryLatency = new Trend('stomp_delivery_latency', true);
+
+export const options = {
+    scenarios: {
+        // 오래 유지되는 유휴 연결 - 스레드 풀 점유/연결 수용량 비교
+        idle_connections: {
+            executor: 'ramping-vus',
+            exec: 'idleConnection',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: IDLE_CONNECTIONS },
+                { duration: '2m', target: IDLE_CONNECTIONS },
+                { duration: '10s', target: 0 },
+            ],
+        },
+        // 블로킹 I/O(JPA/Mongo)를 타는 REST 조회 - 지연 분포 비교
+        rest_reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'restReads',
+            rate: REST_RATE,
+            timeUnit: '1s',
+            duration: '2m',
+            startTime: '30s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:rest_reads}': ['p(99)<500'],
+    },
+};
+
+function frame(command, headers, body) {
+    let result = command + '\n';
+    for (const key in headers) {
+        result += key + ':' + headers[key] + '\n';
+    }
+    return result + '\n' + (body || '') + '\0';
+}
+
+export function idleConnection() {
+    const response = ws.connect(WS_URL, {}, (socket) => {
+        socket.on('open', () => {
+            socket.send(frame('CONNECT', { 'accept-version': '1.2', 'heart-beat': '0,0' }));
+        });
+
+        socket.on('message', (data) => {
+            if (data.startsWith('MESSAGE')) {
+                const body = JSON.parse(data.substring(data.indexOf('\n\n') + 2, data.lastIndexOf('\0')));
+                if (body.sender === 'k6-' + __VU && body.content.startsWith('load test ')) {
+                    stompDeliveryLatency.add(Date.now() - parseInt(body.content.substring('load test '.length)));
+                }
+            } else if (data.startsWith('CONNECTED')) {
+                socket.send(frame('SUBSCRIBE', { id: 'sub-0', destination: '/topic/chat/' + ROOM_ID }));
+
+                // 일부 연결만 가끔 메시지를 보내고 나머지는 유휴 상태 유지
+                socket.setInterval(() => {
+                    if (Math.random() < 0.05) {
+                        socket.send(frame('SEND', { destination: '/app/chat/send/' + ROOM_ID, 'content-type': 'application/json' },
+                            JSON.stringify({ sender: 'k6-' + __VU, content: 'load test ' + Date.now(), type: 'CHAT' })));
+                    }
+                }, 5000);
+            }
+        });
+
+        socket.setTimeout(() => socket.close(), 150000);
+    });
+
+    if (!check(response, { 'ws upgraded': (r) => r && r.status === 101 })) {
+        wsConnectFailed.add(1);
+    }
+}
+
+export function restReads() {
+    const rooms = http.get(`${BASE_URL}/api/rooms`, { tags: { name: 'rooms' } });
+    check(rooms, { 'rooms 200': (r) => r.status === 200 });
+
+    const recent = http.get(`${BASE_URL}/api/messages/${ROOM_ID}/recent?limit=50`, { tags: { name: 'recent' } });
+    check(recent, { 'recent 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,134 @@
+package org.example.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.bson.types.ObjectId;
+import org.example.dto.ChatMessageDto;
+import org.example.kafka.serde.ChatMessageDeserializer;
+import org.example.kafka.serde.ChatMessageSerializer;
+import org.example.model.mongodb.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * 리스너 concurrency(컨슈머 스레드 수)에 따른 영속화 컨슈머 처리 시간 비교
+ * 내장 Kafka 브로커의 파티션 6개짜리 토픽에 미리 적재한 레코드 전체를 ConcurrentMessageListenerContainer로 읽는 데 걸린 시간 (낮을수록 좋음)
+ * 레코드당 처리는 역직렬화 + MongoDB upsert 왕복을 흉내 낸 saveMicros 대기
+ * 그룹 리밸런스 시간을 빼기 위해 파티션을 직접 할당(TopicPartitionOffset)하며, 파티션은 스레드 수만큼 나눠 맡음
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ConsumerConcurrencyBenchmark {
+
+    private static final String TOPIC = "chat-messages";
+    private static final int PARTITIONS = 6;
+    private static final int RECORDS = 6000;
+
+    @Param({"1", "2", "3", "6"})
+    public int concurrency;
+
+    @Param({"500"})
+    public long saveMicros;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaConsumerFactory<String, ChatMessageDto> consumerFactory;
+    private ConcurrentMessageListenerContainer<String, ChatMessageDto> container;
+    private CountDownLatch consumed;
+
+    @Setup(Level.Trial)
+    public void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+
+        // 파티션별 부하를 같게 하려고 키 대신 파티션을 직접 지정
+        Map<String, Object> producerProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 10);
+        try (KafkaProducer<String, Object> producer =
+                     new KafkaProducer<>(producerProps, new StringSerializer(), new ChatMessageSerializer())) {
+            for (int i = 0; i < RECORDS; i++) {
+                ChatMessageDto message = ChatMessageDto.builder()
+                        .id(ObjectId.get().toHexString())
+                        .roomId((long) (i % 64))
+                        .sender("user-" + (i % 100))
+                        .content("안녕하세요, 오늘 회의는 3시에 시작합니다. message #" + i)
+                        .type(ChatMessage.MessageType.CHAT)
+                        .timestamp(LocalDateTime.now())
+                        .build();
+                producer.send(new ProducerRecord<>(TOPIC, i % PARTITIONS, String.valueOf(message.getRoomId()), message));
+            }
+        }
+
+        consumerFactory = new DefaultKafkaConsumerFactory<>(
+                Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                        ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500),
+                new StringDeserializer(), new ChatMessageDeserializer());
+    }
+
+    @Setup(Level.Invocation)
+    public void createContainer() {
+        TopicPartitionOffset[] partitions = IntStream.range(0, PARTITIONS)
+                .mapToObj(partition -> new TopicPartitionOffset(TOPIC, partition, 0L))
+                .toArray(TopicPartitionOffset[]::new);
+        ContainerProperties containerProperties = new ContainerProperties(partitions);
+        containerProperties.setGroupId("bench-" + UUID.randomUUID());
+
+        consumed = new CountDownLatch(RECORDS);
+        containerProperties.setMessageListener((MessageListener<String, ChatMessageDto>) record -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(saveMicros));
+            consumed.countDown();
+        });
+
+        container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        container.setConcurrency(concurrency);
+    }
+
+    @Benchmark
+    public void consumeAll() throws InterruptedException {
+        container.start();
+        if (!consumed.await(2, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Consumed only " + (RECORDS - consumed.getCount()) + " of " + RECORDS + " records");
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopContainer() {
+        container.stop();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBroker() {
+        broker.destroy();
+    }
+}
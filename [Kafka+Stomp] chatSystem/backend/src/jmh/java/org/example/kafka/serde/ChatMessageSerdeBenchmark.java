@@ -0,0 +1,68 @@
+package org.example.kafka.serde;
+
+import org.example.dto.ChatMessageDto;
+import org.example.model.mongodb.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatMessageDto 직렬화 형식별 직렬화/역직렬화 비용과 메시지당 바이트 수 비교
+ * 메시지당 바이트 수는 각 trial 시작 시 출력됨
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ChatMessageSerdeBenchmark {
+
+    private static final String TOPIC = "chat-messages";
+
+    @Param({"binary", "json"})
+    public String format;
+
+    @Param({"16", "256"})
+    public int contentLength;
+
+    private ChatMessageSerializer serializer;
+    private ChatMessageDeserializer deserializer;
+    private ChatMessageDto message;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new ChatMessageSerializer();
+        serializer.configure(Map.of(ChatMessageSerializer.FORMAT_CONFIG, format), false);
+        deserializer = new ChatMessageDeserializer();
+
+        message = ChatMessageDto.builder()
+                .id("665f1c2e9b1d4a3f2c8e7b10")
+                .roomId(1024L)
+                .sender("user-" + contentLength)
+                .content("가".repeat(contentLength / 2) + "a".repeat(contentLength - contentLength / 2))
+                .type(ChatMessage.MessageType.CHAT)
+                .timestamp(LocalDateTime.of(2025, 5, 1, 12, 30, 15, 123_456_000))
+                .build();
+        payload = serializer.serialize(TOPIC, message);
+        System.out.printf("format=%s contentLength=%d bytesPerMessage=%d%n", format, contentLength, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, message);
+    }
+
+    @Benchmark
+    public ChatMessageDto deserialize() {
+        return deserializer.deserialize(TOPIC, payload);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.bson.types.ObjectId;
+import org.example.dto.ChatMessageDto;
+import org.example.model.mongodb.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 한 건이 수신→발행→저장→전달을 거칠 때의 로깅 비용 비교
+ * infoPerMessage: 기존 방식(단계마다 ChatMessageDto 전체를 INFO로 기록, 메시지당 5줄)
+ * sampledTracer: MessageTracer 기본 샘플링(0.1%) / tracerAllMessages: 샘플링 100% (상한)
+ * 출력은 Spring Boot 기본 콘솔 패턴으로 인코딩한 뒤 버리므로 디스크/콘솔 I/O 비용은 포함되지 않음
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class MessageLoggingBenchmark {
+
+    private static final String TOPIC = "chat-messages";
+    private static final int MESSAGE_POOL_SIZE = 1024;
+    private static final String BOOT_CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private org.slf4j.Logger log;
+    private MessageTracer sampledTracer;
+    private MessageTracer fullTracer;
+    private ChatMessageDto[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(BOOT_CONSOLE_PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        log = LoggerFactory.getLogger(MessageLoggingBenchmark.class);
+        sampledTracer = new MessageTracer(0.001, Set.of());
+        fullTracer = new MessageTracer(1.0, Set.of());
+
+        messages = new ChatMessageDto[MESSAGE_POOL_SIZE];
+        for (int i = 0; i < MESSAGE_POOL_SIZE; i++) {
+            messages[i] = ChatMessageDto.builder()
+                    .id(ObjectId.get().toHexString())
+                    .roomId((long) (i % 64))
+                    .sender("user-" + i)
+                    .content("안녕하세요, 오늘 회의는 3시에 시작합니다. message #" + i)
+                    .type(ChatMessage.MessageType.CHAT)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        }
+    }
+
+    private ChatMessageDto nextMessage() {
+        ChatMessageDto message = messages[next];
+        next = (next + 1) & (MESSAGE_POOL_SIZE - 1);
+        return message;
+    }
+
+    @Benchmark
+    public void infoPerMessage() {
+        ChatMessageDto message = nextMessage();
+        log.info("Received message via WebSocket for room {}: {}", message.getRoomId(), message);
+        log.info("Message sent to Kafka topic '{}' (partition {}, offset {}): {}", TOPIC, 1, 42L, message);
+        log.info("Received message from Kafka: {}", message);
+        log.info("Message persisted");
+        log.info("Message forwarded to WebSocket clients: {}", message);
+    }
+
+    @Benchmark
+    public void sampledTracer() {
+        trace(sampledTracer, nextMessage());
+    }
+
+    @Benchmark
+    public void tracerAllMessages() {
+        trace(fullTracer, nextMessage());
+    }
+
+    private void trace(MessageTracer tracer, ChatMessageDto message) {
+        tracer.trace("received", message);
+        tracer.trace("produced", message, TOPIC, 1, 42L);
+        tracer.trace("persisted", message);
+        tracer.trace("delivered", message);
+    }
+}
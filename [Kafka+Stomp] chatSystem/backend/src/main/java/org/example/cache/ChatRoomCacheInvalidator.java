@@ -0,0 +1,103 @@
+package org.example.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * 채팅방 캐시 무효화를 모든 노드에 전파
+ * 채팅방 캐시(chatRooms, userChatRooms, allChatRooms)는 노드별 Caffeine이라 @CacheEvict는 쓰기를 처리한 노드만 비우므로,
+ * 커밋 후 변경된 방/유저를 전용 토픽에 발행하고 노드마다 고유 컨슈머 그룹으로 받아 각자 캐시를 비움
+ * 전파되기 전 잠깐은 다른 노드가 이전 값을 반환할 수 있으므로 참여 여부 같은 권한 판단에는 캐시를 쓰지 않음
+ */
+@Component
+@Slf4j
+public class ChatRoomCacheInvalidator {
+
+    private static final String GROUP_ID_PREFIX = "chat-room-cache-";
+
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final CacheManager cacheManager;
+    private final String topic;
+    private final String instanceId;
+
+    public ChatRoomCacheInvalidator(ProducerFactory<Object, Object> producerFactory,
+                                    CacheManager cacheManager,
+                                    @Value("${app.kafka.topics.chat-room-cache}") String topic,
+                                    @Value("${app.instance-id}") String instanceId) {
+        // 채팅 메시지 코덱이 아닌 문자열로 발행 (key: roomId, value: username)
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory,
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+        this.cacheManager = cacheManager;
+        this.topic = topic;
+        this.instanceId = instanceId;
+    }
+
+    public String getGroupId() {
+        return GROUP_ID_PREFIX + instanceId;
+    }
+
+    /**
+     * 채팅방 생성/입장/퇴장 커밋 후 다른 노드에 무효화 발행 (이 노드는 @CacheEvict가 비움)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChatRoomChanged event) {
+        String key = event.roomId() == null ? null : String.valueOf(event.roomId());
+        kafkaTemplate.send(topic, key, event.username()).whenComplete((result, e) -> {
+            if (e != null) {
+                // 전파에 실패하면 다른 노드는 expireAfterWrite까지 이전 값을 반환
+                log.warn("Failed to publish chat room cache eviction for room {}: {}", event.roomId(), e.getMessage());
+            }
+        });
+    }
+
+    // 노드마다 고유 그룹이라 모든 노드가 받음 - 지난 무효화는 다시 적용할 필요가 없으므로 최신 오프셋부터
+    @KafkaListener(
+            topics = "${app.kafka.topics.chat-room-cache}",
+            groupId = "#{__listener.groupId}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void evict(ConsumerRecord<String, String> record) {
+        clear(CacheConfig.ALL_CHAT_ROOMS);
+        if (record.key() != null) {
+            evict(CacheConfig.CHAT_ROOMS, Long.valueOf(record.key()));
+        }
+        if (record.value() != null) {
+            evict(CacheConfig.USER_CHAT_ROOMS, record.value());
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * 참여자가 바뀐 방(생성 시 null)과 방 목록이 바뀐 유저
+     */
+    public record ChatRoomChanged(Long roomId, String username) {
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.ChatMessageDto;
+import org.example.kafka.DeliveryMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼 캐시 (ArrayDeque + ID 집합으로 추가/중복 확인이 O(1))
+ * 한 번 조회된(warm) 방은 전달 컨슈머가 받은 메시지를 바로 덧붙여 최근 N개를 MongoDB 조회 없이 제공
+ * BROADCAST 전달 모드에서는 모든 노드의 전달 컨슈머가 전체 메시지를 받으므로 노드마다 버퍼가 완전함
+ * SHARED 모드 + broker relay(다중 노드)에서는 노드마다 일부 파티션만 받으므로 캐시를 끔
+ * 일정 시간 조회되지 않은 방은 주기적으로 제거
+ */
+@Component
+@Slf4j
+public class RecentMessageCache {
+
+    // 같은 stripe의 방에 쓰기가 있었는지 확인해 조회-적재 사이에 저장된 메시지가 누락된 버퍼를 만들지 않기 위한 스탬프
+    private static final int WRITE_STAMP_STRIPES = 1024;
+
+    private final Map<Long, RoomBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int maxRooms;
+    private final long idleTtlNanos;
+    private final long maxAgeNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentMessageCache(MeterRegistry meterRegistry,
+                              @Value("${app.chat.recent-cache.enabled:true}") boolean enabled,
+                              @Value("${app.chat.recent-cache.capacity:100}") int capacity,
+                              @Value("${app.chat.recent-cache.max-rooms:10000}") int maxRooms,
+                              @Value("${app.chat.recent-cache.idle-ttl:10m}") Duration idleTtl,
+                              @Value("${app.chat.recent-cache.max-age:60s}") Duration maxAge,
+                              @Value("${app.kafka.consumer.delivery-mode:BROADCAST}") DeliveryMode deliveryMode,
+                              @Value("${app.websocket.broker-relay.enabled:false}") boolean brokerRelayEnabled) {
+        boolean partialDelivery = deliveryMode == DeliveryMode.SHARED && brokerRelayEnabled;
+        if (enabled && partialDelivery) {
+            log.info("Recent message cache disabled: SHARED delivery only sees a subset of rooms' messages on each node");
+        }
+        this.enabled = enabled && !partialDelivery;
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.maxAgeNanos = maxAge.toNanos();
+        this.hits = meterRegistry.counter("chat.recent_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("chat.recent_cache.requests", "result", "miss");
+        meterRegistry.gauge("chat.recent_cache.rooms", buffers, Map::size);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 캐시된 최근 메시지를 최신순으로 최대 limit 개 반환
+     * 버퍼가 없거나 버퍼 용량보다 많이 요청하면 empty
+     * 적재 후 max-age가 지난 버퍼는 버리고 다시 읽게 함 (전달이 저장보다 먼저 끝나 적재 결과에서 빠진 메시지가 계속 남지 않도록)
+     */
+    public Optional<List<ChatMessageDto>> get(Long roomId, int limit) {
+        RoomBuffer buffer = enabled && limit <= capacity ? buffers.get(roomId) : null;
+        if (buffer != null && System.nanoTime() - buffer.loadedNanos > maxAgeNanos) {
+            buffers.remove(roomId, buffer);
+            buffer = null;
+        }
+        if (buffer == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(buffer.snapshot(limit));
+    }
+
+    /**
+     * MongoDB 조회 전에 읽어 두고 load 시 넘겨주는 쓰기 스탬프
+     */
+    public long writeStamp(Long roomId) {
+        return writeStamps.get(stripe(roomId));
+    }
+
+    /**
+     * MongoDB에서 읽은 최신순 메시지로 버퍼를 채움
+     * 조회 도중 같은 stripe에 새 메시지가 들어왔다면 결과가 이미 낡았을 수 있으므로 적재하지 않음
+     * 스탬프 확인과 적재 사이에 들어온 append는 버퍼를 못 찾고 지나가므로, 적재 후 다시 확인해 바뀌었으면 되돌림
+     */
+    public void load(Long roomId, List<ChatMessageDto> newestFirst, long stamp) {
+        if (!enabled || buffers.size() >= maxRooms) {
+            return;
+        }
+
+        int stripe = stripe(roomId);
+        if (writeStamps.get(stripe) != stamp) {
+            return;
+        }
+        RoomBuffer buffer = new RoomBuffer(capacity, newestFirst);
+        if (buffers.putIfAbsent(roomId, buffer) == null && writeStamps.get(stripe) != stamp) {
+            buffers.remove(roomId, buffer);
+        }
+    }
+
+    /**
+     * 메시지를 warm 상태인 방의 버퍼에 추가 (cold 방은 무시)
+     * 전달 컨슈머와 영속화 컨슈머가 같은 메시지를 넣을 수 있으므로 ID로 중복을 거르고 시각 순서 자리에 넣음
+     */
+    public void append(ChatMessageDto message) {
+        if (!enabled) {
+            return;
+        }
+
+        writeStamps.incrementAndGet(stripe(message.getRoomId()));
+        RoomBuffer buffer = buffers.get(message.getRoomId());
+        if (buffer != null) {
+            buffer.add(message);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.recent-cache.sweep-interval:60s}")
+    public void evictIdleRooms() {
+        long now = System.nanoTime();
+        int before = buffers.size();
+        buffers.values().removeIf(buffer -> now - buffer.lastAccessNanos > idleTtlNanos);
+
+        int evicted = before - buffers.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle room buffers from recent message cache", evicted);
+        }
+    }
+
+    private int stripe(Long roomId) {
+        return Math.floorMod(Objects.hashCode(roomId), WRITE_STAMP_STRIPES);
+    }
+
+    private static final class RoomBuffer {
+
+        private final int capacity;
+        private final ArrayDeque<ChatMessageDto> messages; // 최신순 - 맨 앞에 추가하고 맨 뒤에서 제거
+        private final Set<String> ids; // 중복 확인용 - 버퍼에 든 메시지의 ID
+        private final long loadedNanos = System.nanoTime();
+        private volatile long lastAccessNanos = loadedNanos;
+
+        private RoomBuffer(int capacity, List<ChatMessageDto> newestFirst) {
+            this.capacity = capacity;
+            this.messages = new ArrayDeque<>(capacity);
+            this.ids = new HashSet<>(capacity * 2);
+            for (ChatMessageDto message : newestFirst.subList(0, Math.min(capacity, newestFirst.size()))) {
+                if (message.getId() == null || ids.add(message.getId())) {
+                    messages.addLast(message);
+                }
+            }
+        }
+
+        private synchronized void add(ChatMessageDto message) {
+            // 조회 결과나 다른 컨슈머가 이미 넣은 메시지가 뒤늦게 추가되는 경우 중복 방지
+            if (message.getId() != null && ids.contains(message.getId())) {
+                return;
+            }
+
+            // 대부분 맨 앞이고, 늦게 도착한 메시지만 더 최신 메시지를 잠시 꺼냈다가 시각 순서 자리에 넣음
+            if (isNewer(messages.peekFirst(), message)) {
+                Deque<ChatMessageDto> newer = new ArrayDeque<>();
+                while (isNewer(messages.peekFirst(), message)) {
+                    newer.push(messages.pollFirst());
+                }
+                if (newer.size() == capacity) {
+                    restore(newer);
+                    return; // 버퍼에 남은 가장 오래된 메시지보다 오래됨
+                }
+                addNewest(message);
+                restore(newer);
+            } else {
+                addNewest(message);
+            }
+
+            if (messages.size() > capacity) {
+                ChatMessageDto oldest = messages.pollLast();
+                if (oldest.getId() != null) {
+                    ids.remove(oldest.getId());
+                }
+            }
+        }
+
+        private static boolean isNewer(ChatMessageDto existing, ChatMessageDto message) {
+            return existing != null && existing.getTimestamp() != null && message.getTimestamp() != null
+                    && existing.getTimestamp().isAfter(message.getTimestamp());
+        }
+
+        private void addNewest(ChatMessageDto message) {
+            messages.addFirst(message);
+            if (message.getId() != null) {
+                ids.add(message.getId());
+            }
+        }
+
+        private void restore(Deque<ChatMessageDto> newer) {
+            while (!newer.isEmpty()) {
+                messages.addFirst(newer.pop());
+            }
+        }
+
+        private synchronized List<ChatMessageDto> snapshot(int limit) {
+            lastAccessNanos = System.nanoTime();
+            List<ChatMessageDto> result = new ArrayList<>(Math.min(limit, messages.size()));
+            Iterator<ChatMessageDto> iterator = messages.iterator();
+            while (result.size() < limit && iterator.hasNext()) {
+                result.add(iterator.next());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 채팅방 조회 캐시 설정 (Caffeine, spring.cache.caffeine.spec 참고)
+ * 캐시 어드바이스를 트랜잭션보다 바깥에 두어 캐시 히트 시 트랜잭션을 열지 않고, 무효화는 커밋 이후에 일어나도록 함
+ * 캐시는 노드별이므로 다른 노드의 무효화는 ChatRoomCacheInvalidator가 Kafka로 전파
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String CHAT_ROOMS = "chatRooms";
+    public static final String USER_CHAT_ROOMS = "userChatRooms";
+    public static final String ALL_CHAT_ROOMS = "allChatRooms";
+}
@@ -1,14 +1,25 @@
 package org.example.config;
 
+import jakarta.annotation.PostConstruct;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.example.dto.ChatMessageDto;
+import org.apache.kafka.common.config.TopicConfig;
+import org.example.kafka.DeadLetterReplayService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,6 +35,64 @@ public class KafkaConfig {
     @Value("${app.kafka.topics.chat-events}")
     private String chatEventsTopic;
 
+    @Value("${app.kafka.topics.chat-room-cache}")
+    private String chatRoomCacheTopic;
+
+    @Value("${app.kafka.retry.attempts:4}")
+    private int retryAttempts;
+
+    @Value("${app.kafka.retry.delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${app.kafka.retry.multiplier:2.0}")
+    private double retryMultiplier;
+
+    @Value("${app.kafka.retry.max-delay-ms:10000}")
+    private long retryMaxDelayMs;
+
+    @Value("${app.kafka.partitions.chat-messages:3}")
+    private int chatMessagesPartitions;
+
+    @Value("${app.kafka.partitions.chat-events:3}")
+    private int chatEventsPartitions;
+
+    @Value("${app.kafka.replicas.chat-messages:1}")
+    private short chatMessagesReplicas;
+
+    @Value("${app.kafka.replicas.chat-events:1}")
+    private short chatEventsReplicas;
+
+    @Value("${app.kafka.listener.concurrency.chat-messages:3}")
+    private int chatMessagesConcurrency;
+
+    @Value("${app.kafka.listener.concurrency.chat-events:1}")
+    private int chatEventsConcurrency;
+
+    @Value("${app.kafka.listener.concurrency.batch:3}")
+    private int batchConcurrency;
+
+    @Value("${app.kafka.listener.concurrency.delivery:3}")
+    private int deliveryConcurrency;
+
+    /**
+     * 리스너 concurrency가 구독 토픽의 파티션 수를 넘으면 남는 컨슈머 스레드는 파티션을 받지 못하고 놀게 되므로 기동 시 거부
+     * 두 토픽을 함께 구독하는 리스너(batch, delivery)는 토픽별로 파티션을 나눠 받으므로(RangeAssignor) 큰 쪽 파티션 수가 상한
+     */
+    @PostConstruct
+    void validateListenerConcurrency() {
+        checkConcurrency("chat-messages", chatMessagesConcurrency, chatMessagesPartitions);
+        checkConcurrency("chat-events", chatEventsConcurrency, chatEventsPartitions);
+        checkConcurrency("batch", batchConcurrency, Math.max(chatMessagesPartitions, chatEventsPartitions));
+        checkConcurrency("delivery", deliveryConcurrency, Math.max(chatMessagesPartitions, chatEventsPartitions));
+    }
+
+    private static void checkConcurrency(String listener, int concurrency, int partitions) {
+        if (concurrency < 1 || concurrency > partitions) {
+            throw new IllegalStateException("app.kafka.listener.concurrency." + listener + " must be between 1 and "
+                    + partitions + " (partitions of the subscribed topics), but was " + concurrency);
+        }
+    }
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -31,19 +100,70 @@ public class KafkaConfig {
         return new KafkaAdmin(configs);
     }
 
+    /**
+     * poll 단위로 레코드 목록을 전달하는 배치 리스너용 컨테이너 팩토리
+     * 리스너가 BatchListenerFailedException으로 실패 위치를 알리면 그 앞까지 커밋하고 실패한 레코드만 백오프 재시도,
+     * 재시도를 소진하면 {topic}-dlt로 보내고 다음 레코드로 진행 (배치 리스너는 재시도 토픽을 지원하지 않음)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            KafkaTemplate<Object, Object> kafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(retryAttempts - 1);
+        backOff.setInitialInterval(retryDelayMs);
+        backOff.setMultiplier(retryMultiplier);
+        backOff.setMaxInterval(retryMaxDelayMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new DeadLetterPublishingRecoverer(kafkaTemplate), backOff));
+        return factory;
+    }
+
     @Bean
     public NewTopic chatMessagesTopic() {
         return TopicBuilder.name(chatMessagesTopic)
-                .partitions(3)
-                .replicas(1)
+                .partitions(chatMessagesPartitions)
+                .replicas(chatMessagesReplicas)
                 .build();
     }
 
     @Bean
     public NewTopic chatEventsTopic() {
         return TopicBuilder.name(chatEventsTopic)
-                .partitions(3)
-                .replicas(1)
+                .partitions(chatEventsPartitions)
+                .replicas(chatEventsReplicas)
+                .build();
+    }
+
+    // DLT는 원본과 같은 파티션 번호로 발행되므로 파티션 수를 맞춤
+    // 레코드 리스너 모드에서는 재시도 토픽 설정이 만들지만, 배치 모드에서도 존재해야 하므로 직접 선언
+    @Bean
+    public NewTopic chatMessagesDeadLetterTopic() {
+        return TopicBuilder.name(chatMessagesTopic + DeadLetterReplayService.DLT_SUFFIX)
+                .partitions(chatMessagesPartitions)
+                .replicas(chatMessagesReplicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic chatEventsDeadLetterTopic() {
+        return TopicBuilder.name(chatEventsTopic + DeadLetterReplayService.DLT_SUFFIX)
+                .partitions(chatEventsPartitions)
+                .replicas(chatEventsReplicas)
+                .build();
+    }
+
+    // 캐시 무효화는 순서만 맞으면 되므로 파티션 하나, 지난 레코드는 필요 없으므로 짧게 보관
+    @Bean
+    public NewTopic chatRoomCacheTopic() {
+        return TopicBuilder.name(chatRoomCacheTopic)
+                .partitions(1)
+                .replicas(chatEventsReplicas)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Duration.ofHours(1).toMillis()))
                 .build();
     }
-} 
\ No newline at end of file
+}
@@ -1,15 +1,47 @@
 package org.example.config;
 
+import lombok.RequiredArgsConstructor;
+import org.example.websocket.BatchSubscriptionInterceptor;
+import org.example.websocket.SlowConsumerProtection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final BatchSubscriptionInterceptor batchSubscriptionInterceptor;
+    private final SlowConsumerProtection slowConsumerProtection;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.websocket.outbound.pool-size:16}")
+    private int outboundPoolSize;
+
+    @Value("${app.websocket.broker-relay.enabled:false}")
+    private boolean brokerRelayEnabled;
+
+    @Value("${app.websocket.broker-relay.host:localhost}")
+    private String brokerRelayHost;
+
+    @Value("${app.websocket.broker-relay.port:61613}")
+    private int brokerRelayPort;
+
+    @Value("${app.websocket.broker-relay.login:guest}")
+    private String brokerRelayLogin;
+
+    @Value("${app.websocket.broker-relay.passcode:guest}")
+    private String brokerRelayPasscode;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -20,9 +52,51 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 클라이언트가 구독할 주제에 대한 prefix
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (brokerRelayEnabled) {
+            // 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)를 통해 모든 노드의 구독자에게 전달
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(brokerRelayHost)
+                    .setRelayPort(brokerRelayPort)
+                    .setClientLogin(brokerRelayLogin)
+                    .setClientPasscode(brokerRelayPasscode)
+                    .setSystemLogin(brokerRelayLogin)
+                    .setSystemPasscode(brokerRelayPasscode);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
         
         // 클라이언트가 메시지를 보낼 때 사용할 prefix
         registry.setApplicationDestinationPrefixes("/app");
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // x-coalesce 구독 헤더 처리 (묶음 전송 opt-in)
+        registration.interceptors(batchSubscriptionInterceptor);
+
+        // 가상 스레드 모드에서는 고정 크기 풀 대신 메시지마다 가상 스레드에서 처리 (Kafka 전송 등 블로킹 I/O)
+        if (virtualThreadsEnabled) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreadsEnabled) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+        } else {
+            // 소켓 쓰기는 세션 버퍼에서 따로 처리하므로 outbound 스레드는 인코딩과 버퍼 적재만 담당
+            registration.taskExecutor()
+                    .corePoolSize(outboundPoolSize)
+                    .maxPoolSize(outboundPoolSize);
+        }
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 버퍼 한도와 초과 처리는 SlowConsumerProtection이 담당, 아래 값은 Spring 기본 데코레이터의 안전망
+        registration.setSendTimeLimit((int) slowConsumerProtection.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) slowConsumerProtection.getBufferSizeLimit().toBytes())
+                .addDecoratorFactory(slowConsumerProtection);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.kafka.DeadLetterReplayService;
+import org.example.monitoring.MessageTracer;
+import org.example.websocket.SlowConsumerProtection;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final MessageTracer messageTracer;
+    private final SlowConsumerProtection slowConsumerProtection;
+
+    /**
+     * {topic}-dlt에 쌓인 레코드를 원본 토픽으로 재발행 (chat-messages, chat-events)
+     */
+    @PostMapping("/dlt/{topic}/replay")
+    public ResponseEntity<Map<String, Object>> replayDeadLetters(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        if (!deadLetterReplayService.isReplayable(topic) || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int replayed = deadLetterReplayService.replay(topic, limit);
+        return ResponseEntity.ok(Map.of("topic", topic, "replayed", replayed));
+    }
+
+    /**
+     * 전송 버퍼가 쌓인 WebSocket 세션 (많이 밀린 순) - 메트릭에는 세션별 값을 남기지 않으므로 필요할 때 여기서 확인
+     */
+    @GetMapping("/websocket/sessions")
+    public ResponseEntity<List<SlowConsumerProtection.SessionBuffer>> getBufferedSessions(
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(slowConsumerProtection.getBufferedSessions(limit));
+    }
+
+    @GetMapping("/tracing")
+    public ResponseEntity<Map<String, Object>> getTracing() {
+        return ResponseEntity.ok(Map.of(
+                "sampleRate", messageTracer.getSampleRate(),
+                "rooms", messageTracer.getTracedRooms()));
+    }
+
+    /**
+     * 특정 채팅방의 모든 메시지 추적 로그 켜기 (샘플링과 무관)
+     */
+    @PutMapping("/tracing/rooms/{roomId}")
+    public ResponseEntity<Void> enableRoomTracing(@PathVariable Long roomId) {
+        messageTracer.enableRoom(roomId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/tracing/rooms/{roomId}")
+    public ResponseEntity<Void> disableRoomTracing(@PathVariable Long roomId) {
+        messageTracer.disableRoom(roomId);
+        return ResponseEntity.noContent().build();
+    }
+}
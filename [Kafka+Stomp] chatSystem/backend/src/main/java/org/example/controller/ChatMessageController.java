@@ -1,19 +1,31 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.example.dto.ChatMessageDto;
+import org.example.dto.ChatMessagePageDto;
+import org.example.dto.MessageCursor;
+import org.example.dto.MessageSearchCondition;
 import org.example.kafka.KafkaProducer;
 import org.example.model.mongodb.ChatMessage;
+import org.example.monitoring.MessageTracer;
 import org.example.service.ChatMessageService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -24,6 +36,8 @@ public class ChatMessageController {
 
     private final ChatMessageService chatMessageService;
     private final KafkaProducer kafkaProducer;
+    private final ObjectMapper objectMapper;
+    private final MessageTracer messageTracer;
 
     /**
      * WebSocket을 통해 들어오는 메시지 처리
@@ -31,11 +45,11 @@ public class ChatMessageController {
      */
     @MessageMapping("/chat/send/{roomId}")
     public void sendMessage(@DestinationVariable Long roomId, @Payload ChatMessageDto message) {
-        log.info("Received message via WebSocket for room {}: {}", roomId, message);
-        
-        // 메시지에 방 ID와 시간 설정
+        // 메시지 ID, 방 ID와 시간 설정 - ID는 서버에서 발급해 Kafka 재전달 시 저장/전달 중복 제거 키로 사용
+        message.setId(ObjectId.get().toHexString());
         message.setRoomId(roomId);
         message.setTimestamp(LocalDateTime.now());
+        messageTracer.trace("received", message);
         
         // 메시지 타입에 따라 다른 Kafka 토픽으로 전송
         if (message.getType() == ChatMessage.MessageType.CHAT) {
@@ -46,12 +60,74 @@ public class ChatMessageController {
     }
 
     /**
-     * 특정 채팅방의 메시지 기록 조회 (REST API)
+     * 특정 채팅방의 메시지 기록 커서 페이지 조회 (REST API)
+     * before("createdAt,id")를 생략하면 가장 최신 페이지, 응답의 nextCursor로 이전 페이지를 이어서 조회
      */
     @GetMapping("/{roomId}")
-    public ResponseEntity<List<ChatMessageDto>> getRoomMessages(@PathVariable Long roomId) {
-        List<ChatMessageDto> messages = chatMessageService.getAllMessages(roomId);
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<ChatMessagePageDto> getRoomMessages(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        MessageCursor cursor;
+        try {
+            cursor = (before == null || before.isBlank()) ? null : MessageCursor.parse(before);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(chatMessageService.getMessagesBefore(roomId, cursor, limit));
+    }
+
+    /**
+     * 특정 채팅방의 메시지 검색 (REST API, 커서 페이지)
+     * q: 본문 검색어(단어 단위), sender: 보낸 사람, from/to: 기간(ISO-8601, from 이상 to 미만) - 모두 선택이며 함께 쓰면 AND
+     */
+    @GetMapping("/{roomId}/search")
+    public ResponseEntity<ChatMessagePageDto> searchRoomMessages(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sender,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        MessageCursor cursor;
+        try {
+            cursor = (before == null || before.isBlank()) ? null : MessageCursor.parse(before);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        MessageSearchCondition condition = new MessageSearchCondition(
+                (sender == null || sender.isBlank()) ? null : sender,
+                (q == null || q.isBlank()) ? null : q.strip(),
+                from, to);
+        return ResponseEntity.ok(chatMessageService.searchMessages(roomId, condition, cursor, limit));
+    }
+
+    /**
+     * 특정 채팅방의 전체 메시지 기록 내보내기 (NDJSON 스트리밍, 오래된 순)
+     */
+    @GetMapping(value = "/{roomId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRoomMessages(@PathVariable Long roomId) {
+        StreamingResponseBody body = (OutputStream outputStream) -> {
+            try (Stream<ChatMessageDto> messages = chatMessageService.streamAllMessages(roomId)) {
+                Iterator<ChatMessageDto> iterator = messages.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -3,6 +3,7 @@ package org.example.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.ChatRoomDto;
 import org.example.service.ChatRoomService;
+import org.example.service.ReadReceiptService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,7 @@ import java.util.Map;
 public class ChatRoomController {
 
     private final ChatRoomService chatRoomService;
+    private final ReadReceiptService readReceiptService;
 
     @GetMapping
     public ResponseEntity<List<ChatRoomDto>> getAllChatRooms() {
@@ -30,6 +32,14 @@ public class ChatRoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    /**
+     * 유저가 참여 중인 모든 방의 안 읽은 메시지 수 (방 ID → 개수) - 방 목록 배지용
+     */
+    @GetMapping("/user/{username}/unread")
+    public ResponseEntity<Map<Long, Long>> getUnreadCounts(@PathVariable String username) {
+        return ResponseEntity.ok(readReceiptService.getUnreadCounts(username));
+    }
+
     @GetMapping("/{roomId}")
     public ResponseEntity<ChatRoomDto> getChatRoomById(@PathVariable Long roomId) {
         return chatRoomService.getChatRoomById(roomId)
@@ -61,6 +71,8 @@ public class ChatRoomController {
         boolean added = chatRoomService.addUserToChatRoom(roomId, username);
         
         if (added) {
+            // 입장 전 메시지는 안 읽은 수에 넣지 않음
+            readReceiptService.markRead(roomId, username);
             return ResponseEntity.ok().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -72,9 +84,23 @@ public class ChatRoomController {
         boolean removed = chatRoomService.removeUserFromChatRoom(roomId, username);
         
         if (removed) {
+            readReceiptService.removeMarker(roomId, username);
             return ResponseEntity.ok().build();
         } else {
             return ResponseEntity.notFound().build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 현재까지의 메시지를 읽음 처리
+     */
+    @PutMapping("/{roomId}/participants/{username}/read")
+    public ResponseEntity<Void> markRoomRead(@PathVariable Long roomId, @PathVariable String username) {
+        if (!chatRoomService.isParticipant(roomId, username)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        readReceiptService.markRead(roomId, username);
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 메시지 기록 커서 - "createdAt,id" 형식으로 주고받으며 해당 메시지보다 이전 메시지를 조회할 때 사용
+ */
+public record MessageCursor(LocalDateTime createdAt, String id) {
+
+    private static final String DELIMITER = ",";
+
+    public static MessageCursor parse(String value) {
+        int index = value.lastIndexOf(DELIMITER);
+        if (index <= 0 || index == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+
+        try {
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, index)), value.substring(index + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public static MessageCursor of(ChatMessageDto message) {
+        return new MessageCursor(message.getTimestamp(), message.getId());
+    }
+
+    public String encode() {
+        return createdAt + DELIMITER + id;
+    }
+}
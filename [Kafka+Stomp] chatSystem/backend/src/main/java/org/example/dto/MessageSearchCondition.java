@@ -0,0 +1,11 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 검색 조건 - 모든 필드는 선택 (null이면 해당 조건 없음)
+ * text는 MongoDB $text 검색어 (공백으로 구분한 단어 중 하나라도 포함, "따옴표"는 구문 일치, -단어는 제외)
+ * 기간은 from 이상 to 미만
+ */
+public record MessageSearchCondition(String sender, String text, LocalDateTime from, LocalDateTime to) {
+}
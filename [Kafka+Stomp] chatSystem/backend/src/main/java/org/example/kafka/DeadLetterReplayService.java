@@ -0,0 +1,158 @@
+package org.example.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * DLT 재처리
+ * {topic}-dlt에 쌓인 레코드를 원본 토픽으로 다시 발행 - 원본 바이트를 그대로 보내므로 역직렬화 실패 레코드도 그대로 재투입됨
+ * 재처리 위치는 전용 컨슈머 그룹(chat-dlt-replay)의 커밋 오프셋으로 관리해 같은 레코드를 두 번 재처리하지 않음
+ * 파티션을 직접 할당해 호출 시점의 끝 오프셋까지 읽음 (그 뒤에 들어온 레코드는 다음 재처리에서)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterReplayService {
+
+    public static final String DLT_SUFFIX = "-dlt";
+
+    /**
+     * 재처리된 레코드 표시 헤더 - 실시간 전달 컨슈머는 지난 메시지를 다시 푸시하지 않도록 건너뜀
+     */
+    public static final String REPLAY_HEADER = "chat-dlt-replayed";
+
+    private static final String REPLAY_GROUP_ID = "chat-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    // DLT/재시도 메타데이터 헤더는 원본 토픽에 다시 실으면 재시도 횟수가 이어져 바로 DLT로 갈 수 있으므로 제거
+    private static final List<String> STRIPPED_HEADER_PREFIXES = List.of("kafka_dlt-", "retry_topic-");
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+
+    @Value("${app.kafka.topics.chat-messages}")
+    private String chatMessagesTopic;
+
+    @Value("${app.kafka.topics.chat-events}")
+    private String chatEventsTopic;
+
+    public boolean isReplayable(String topic) {
+        return Set.of(chatMessagesTopic, chatEventsTopic).contains(topic);
+    }
+
+    /**
+     * topic의 DLT에서 아직 재처리하지 않은 레코드를 최대 maxRecords 개까지 원본 토픽으로 재발행
+     * @return 재발행한 레코드 수
+     */
+    public int replay(String topic, int maxRecords) {
+        if (!isReplayable(topic)) {
+            throw new IllegalArgumentException("Unknown chat topic: " + topic);
+        }
+        String deadLetterTopic = topic + DLT_SUFFIX;
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(maxRecords, 500));
+
+        int replayed = 0;
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(REPLAY_GROUP_ID, null, null, overrides)) {
+            // subscribe()는 빈 그룹의 첫 할당이 group.initial.rebalance.delay.ms만큼 늦어 첫 poll이 비어 끝날 수 있으므로 직접 할당
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.info("Dead letter topic '{}' does not exist", deadLetterTopic);
+                return 0;
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+
+            // 커밋 오프셋부터, 없으면 처음부터 - 시작 시점의 끝 오프셋까지만 읽음
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset != null) {
+                    consumer.seek(partition, offset.offset());
+                } else {
+                    consumer.seekToBeginning(List.of(partition));
+                }
+            }
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            while (replayed < maxRecords && !reachedEnd(consumer, endOffsets)) {
+                ConsumerRecords<Object, Object> records = consumer.poll(POLL_TIMEOUT);
+
+                List<CompletableFuture<SendResult<Object, Object>>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<Object, Object> record : records) {
+                    if (replayed >= maxRecords) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(toReplayRecord(topic, record)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                if (offsets.isEmpty()) {
+                    continue;
+                }
+
+                // 재발행이 모두 확인된 뒤에만 오프셋을 커밋 - 실패 시 다음 재처리 때 다시 시도
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+                consumer.commitSync(offsets);
+            }
+        }
+
+        log.info("Replayed {} record(s) from '{}' to '{}'", replayed, deadLetterTopic, topic);
+        return replayed;
+    }
+
+    private boolean reachedEnd(Consumer<Object, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+
+    private ProducerRecord<Object, Object> toReplayRecord(String topic, ConsumerRecord<Object, Object> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (STRIPPED_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                headers.add(header);
+            }
+        }
+        headers.add(REPLAY_HEADER, Boolean.TRUE.toString().getBytes(StandardCharsets.UTF_8));
+
+        // 키는 StringSerializer로 기록된 roomId - 같은 파티션 배치를 위해 문자열로 되돌림
+        byte[] key = (byte[]) record.key();
+        return new ProducerRecord<>(topic, null,
+                key == null ? null : new String(key, StandardCharsets.UTF_8), record.value(), headers);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 실시간 전달(fan-out) 중복 방지용 단기 캐시
+ * 리밸런스나 재시도로 같은 레코드를 다시 읽어도 ttl 안에 전달한 메시지 ID는 WebSocket으로 다시 보내지 않음
+ */
+@Component
+public class DeliveryDeduplicator {
+
+    private final Cache<String, Boolean> deliveredIds;
+    private final Counter duplicateCounter;
+
+    public DeliveryDeduplicator(MeterRegistry meterRegistry,
+                                @Value("${app.kafka.consumer.delivery-dedup.ttl:5m}") Duration ttl,
+                                @Value("${app.kafka.consumer.delivery-dedup.max-size:100000}") long maxSize) {
+        this.deliveredIds = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        this.duplicateCounter = meterRegistry.counter("chat.delivery.duplicates");
+    }
+
+    /**
+     * 처음 보는 메시지 ID면 기록 후 true, ttl 안에 이미 전달한 ID면 false
+     * ID가 없는 메시지(ID 도입 전 발행분)는 항상 전달
+     */
+    public boolean firstDelivery(String messageId) {
+        if (messageId == null) {
+            return true;
+        }
+        if (deliveredIds.asMap().putIfAbsent(messageId, Boolean.TRUE) != null) {
+            duplicateCounter.increment();
+            return false;
+        }
+        return true;
+    }
+}
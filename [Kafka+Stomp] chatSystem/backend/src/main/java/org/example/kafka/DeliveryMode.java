@@ -0,0 +1,15 @@
+package org.example.kafka;
+
+/**
+ * 실시간 전달 컨슈머의 수평 확장 방식
+ */
+public enum DeliveryMode {
+    /**
+     * 인스턴스마다 고유한 컨슈머 그룹으로 모든 파티션을 읽고, 자기 WebSocket 세션에만 전달 (simple broker용)
+     */
+    BROADCAST,
+    /**
+     * 모든 인스턴스가 하나의 컨슈머 그룹으로 파티션을 나눠 읽고, 외부 STOMP 브로커 relay가 전체 노드로 팬아웃
+     */
+    SHARED
+}
@@ -0,0 +1,76 @@
+package org.example.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.dto.ChatMessageDto;
+import org.example.service.ChatMessageService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * app.kafka.consumer.batch-enabled=true 일 때 KafkaConsumer 대신 사용되는 배치 리스너
+ * poll 한 번으로 받은 메시지/이벤트를 MongoDB에 bulk upsert (실시간 전달은 KafkaDeliveryConsumer가 담당)
+ * 실패 처리는 batchKafkaListenerContainerFactory의 에러 핸들러 참고
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.batch-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaBatchConsumer {
+
+    private final ChatMessageService chatMessageService;
+
+    @KafkaListener(
+            topics = {"${app.kafka.topics.chat-messages}", "${app.kafka.topics.chat-events}"},
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.listener.concurrency.batch:3}")
+    public void consumeChatBatch(List<ConsumerRecord<String, ChatMessageDto>> records) {
+        boolean hasPoisonRecord = records.stream().anyMatch(this::isUndeserializable);
+        if (!hasPoisonRecord) {
+            List<ChatMessageDto> messages = records.stream()
+                    .map(ConsumerRecord::value)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+
+            // 배치 전체를 한 번에 저장 (upsert라 재시도/재전달되어도 중복 없음)
+            try {
+                chatMessageService.saveMessages(messages);
+                log.debug("Batch of {} records persisted", messages.size());
+                return;
+            } catch (Exception e) {
+                log.warn("Bulk persist of {} records failed, retrying record by record: {}", messages.size(), e.getMessage());
+            }
+        }
+
+        // 레코드 단위로 저장해 실패한 위치를 에러 핸들러에 알림 - 앞선 레코드는 커밋되고 실패한 레코드만 재시도 후 DLT로 이동
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, ChatMessageDto> record = records.get(i);
+            if (isUndeserializable(record)) {
+                throw new BatchListenerFailedException("Undeserializable chat record", i);
+            }
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                chatMessageService.saveMessage(record.value());
+            } catch (Exception e) {
+                throw new BatchListenerFailedException("Failed to persist chat record", e, i);
+            }
+        }
+        log.debug("Batch of {} records persisted record by record", records.size());
+    }
+
+    private boolean isUndeserializable(ConsumerRecord<String, ChatMessageDto> record) {
+        return record.value() == null
+                && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null;
+    }
+}
@@ -1,53 +1,93 @@
 package org.example.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.example.dto.ChatMessageDto;
 import org.example.model.mongodb.ChatMessage;
+import org.example.monitoring.MessageTracer;
 import org.example.service.ChatMessageService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 메시지 영속화 전용 컨슈머 (chat-group)
+ * 실시간 전달은 별도 컨슈머 그룹의 KafkaDeliveryConsumer가 담당하므로 저장 지연이 전달 지연에 영향을 주지 않음
+ * 저장 실패는 삼키지 않고 재시도 토픽({topic}-retry-N)으로 넘겨 백오프 후 다시 처리하고, 끝내 실패하면 {topic}-dlt에 보관
+ * 재시도는 별도 토픽에서 진행되므로 원본 파티션은 실패한 레코드에 막히지 않음
+ */
 @Component
+@ConditionalOnProperty(name = "app.kafka.consumer.batch-enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaConsumer {
 
     private final ChatMessageService chatMessageService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final MessageTracer messageTracer;
 
-    @KafkaListener(topics = "${app.kafka.topics.chat-messages}", groupId = "${spring.kafka.consumer.group-id}")
+    // 역직렬화 실패 등 재시도해도 소용없는 예외는 기본 설정대로 바로 DLT로 보냄
+    // DLT 핸들러가 실패해도 DLT로 되돌리지 않음 (poison 레코드 무한 순환 방지)
+    @RetryableTopic(
+            attempts = "${app.kafka.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${app.kafka.retry.delay-ms:1000}",
+                    multiplierExpression = "${app.kafka.retry.multiplier:2.0}",
+                    maxDelayExpression = "${app.kafka.retry.max-delay-ms:10000}"),
+            numPartitions = "${app.kafka.partitions.chat-messages:3}",
+            replicationFactor = "${app.kafka.replicas.chat-messages:1}",
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltTopicSuffix = DeadLetterReplayService.DLT_SUFFIX,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR)
+    @KafkaListener(topics = "${app.kafka.topics.chat-messages}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${app.kafka.listener.concurrency.chat-messages:3}")
     public void consumeChatMessage(ChatMessageDto message) {
-        log.info("Received message from Kafka: {}", message);
-        
-        try {
-            // 메시지 저장
-            chatMessageService.saveMessage(message);
-            
-            // 실시간 전송 - 채팅방 구독자들에게 메시지 전달
-            messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId(), message);
-            
-            log.info("Message processed and forwarded to WebSocket clients");
-        } catch (Exception e) {
-            log.error("Error processing chat message: {}", e.getMessage(), e);
-        }
+        // 메시지 저장 - 실패 시 예외를 전파해 재시도 토픽으로 이동
+        chatMessageService.saveMessage(message);
+
+        messageTracer.trace("persisted", message);
     }
 
-    @KafkaListener(topics = "${app.kafka.topics.chat-events}", groupId = "${spring.kafka.consumer.group-id}")
+    @RetryableTopic(
+            attempts = "${app.kafka.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${app.kafka.retry.delay-ms:1000}",
+                    multiplierExpression = "${app.kafka.retry.multiplier:2.0}",
+                    maxDelayExpression = "${app.kafka.retry.max-delay-ms:10000}"),
+            numPartitions = "${app.kafka.partitions.chat-events:3}",
+            replicationFactor = "${app.kafka.replicas.chat-events:1}",
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltTopicSuffix = DeadLetterReplayService.DLT_SUFFIX,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR)
+    @KafkaListener(topics = "${app.kafka.topics.chat-events}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${app.kafka.listener.concurrency.chat-events:1}")
     public void consumeChatEvent(ChatMessageDto event) {
-        log.info("Received event from Kafka: {}", event);
-        
-        try {
-            // 이벤트 저장 (참여/퇴장 등)
-            chatMessageService.saveMessage(event);
-            
-            // 실시간 전송 - 채팅방 구독자들에게 이벤트 전달
-            messagingTemplate.convertAndSend("/topic/chat/" + event.getRoomId(), event);
-            
-            log.info("Event processed and forwarded to WebSocket clients");
-        } catch (Exception e) {
-            log.error("Error processing chat event: {}", e.getMessage(), e);
-        }
+        // 이벤트 저장 (참여/퇴장 등)
+        chatMessageService.saveMessage(event);
+
+        messageTracer.trace("persisted", event);
+    }
+
+    /**
+     * 재시도를 모두 소진한 레코드 기록 - 레코드는 DLT에 남아 있으므로 원인 해결 후 /api/admin/dlt/{topic}/replay로 재처리
+     */
+    @DltHandler
+    public void onDeadLetter(ConsumerRecord<String, ChatMessageDto> record) {
+        Header error = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        meterRegistry.counter("chat.kafka.dead_letters", "topic", record.topic()).increment();
+        log.error("Chat record moved to dead-letter topic '{}' (partition {}, offset {}): {} - {}",
+                record.topic(), record.partition(), record.offset(), record.value(),
+                error == null ? null : new String(error.value(), StandardCharsets.UTF_8));
     }
-} 
\ No newline at end of file
+}
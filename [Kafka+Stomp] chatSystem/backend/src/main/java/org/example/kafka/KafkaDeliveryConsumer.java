@@ -0,0 +1,123 @@
+package org.example.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.ChatMessageDto;
+import org.example.monitoring.MessageTracer;
+import org.example.service.ChatMessageService;
+import org.example.websocket.ChatMessageCoalescer;
+import org.example.websocket.SlowConsumerSessionDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 실시간 전달 전용 컨슈머
+ * 영속화 그룹(chat-group)과 다른 컨슈머 그룹으로 같은 토픽을 읽어, MongoDB 저장을 기다리지 않고 바로 구독자에게 전달
+ * 여러 노드로 확장할 때의 그룹 구성은 DeliveryMode 참고
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaDeliveryConsumer {
+
+    private static final String END_TO_END_TIMER = "chat.e2e.latency";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessageCoalescer chatMessageCoalescer;
+    private final DeliveryDeduplicator deliveryDeduplicator;
+    private final MeterRegistry meterRegistry;
+    private final MessageTracer messageTracer;
+    private final ChatMessageService chatMessageService;
+
+    @Value("${app.kafka.consumer.delivery-group-id}")
+    private String deliveryGroupId;
+
+    @Value("${app.kafka.consumer.delivery-mode:BROADCAST}")
+    private DeliveryMode deliveryMode;
+
+    @Value("${app.instance-id}")
+    private String instanceId;
+
+    @Value("${app.websocket.broker-relay.enabled:false}")
+    private boolean brokerRelayEnabled;
+
+    @PostConstruct
+    public void validateDeliveryMode() {
+        if (deliveryMode == DeliveryMode.BROADCAST && brokerRelayEnabled) {
+            // 모든 노드가 같은 메시지를 relay에 발행하게 되어 구독자가 노드 수만큼 중복 수신
+            throw new IllegalStateException("BROADCAST delivery mode cannot be combined with the STOMP broker relay; use SHARED");
+        }
+        if (deliveryMode == DeliveryMode.SHARED && !brokerRelayEnabled) {
+            log.warn("SHARED delivery mode with the simple broker only reaches every subscriber on a single-node deployment");
+        }
+        log.info("Chat delivery consumer running in {} mode with group '{}'", deliveryMode, getGroupId());
+    }
+
+    /**
+     * BROADCAST 모드는 인스턴스 ID를 붙인 고유 그룹, SHARED 모드는 공용 그룹
+     */
+    public String getGroupId() {
+        return deliveryMode == DeliveryMode.BROADCAST ? deliveryGroupId + "-" + instanceId : deliveryGroupId;
+    }
+
+    // 실시간 전달은 과거 메시지를 다시 보낼 필요가 없으므로 새 그룹은 최신 오프셋부터 읽음
+    @KafkaListener(
+            topics = {"${app.kafka.topics.chat-messages}", "${app.kafka.topics.chat-events}"},
+            groupId = "#{__listener.groupId}",
+            concurrency = "${app.kafka.listener.concurrency.delivery:3}",
+            properties = "auto.offset.reset=latest")
+    public void deliver(ChatMessageDto message,
+                        @Header(name = DeadLetterReplayService.REPLAY_HEADER, required = false) byte[] replayed) {
+        // DLT에서 재처리된 지난 메시지는 저장만 하고 다시 푸시하지 않음
+        if (replayed != null) {
+            return;
+        }
+        if (!deliveryDeduplicator.firstDelivery(message.getId())) {
+            log.debug("Skipping duplicate delivery of message {}", message.getId());
+            return;
+        }
+
+        try {
+            // 실시간 전송 - 채팅방 구독자들에게 메시지 전달
+            // 타입 헤더는 느린 클라이언트 버퍼가 넘칠 때 입장/퇴장 이벤트를 먼저 버리는 데 사용
+            Map<String, Object> headers = message.getType() == null
+                    ? Map.of()
+                    : Map.of(SlowConsumerSessionDecorator.CHAT_TYPE_HEADER, message.getType().name());
+            messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId(), message, headers);
+
+            recordEndToEndLatency(message);
+
+            // 묶음 전송을 선택한 구독자용 - 방별로 모아 배열 프레임으로 발행
+            chatMessageCoalescer.submit(message);
+
+            // 노드별 최근 메시지 캐시 - 저장 완료를 기다리지 않고 전달 시점에 반영
+            chatMessageService.cacheDelivered(message);
+
+            messageTracer.trace("delivered", message);
+        } catch (Exception e) {
+            log.error("Error forwarding chat message: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * ChatMessageController에서 찍은 timestamp부터 구독자 팬아웃까지의 지연 (Kafka 왕복 + 전달 컨슈머 처리)
+     * 발신 노드의 시계 기준이므로 노드 간 시계 오차만큼 오차가 생길 수 있음
+     */
+    private void recordEndToEndLatency(ChatMessageDto message) {
+        if (message.getTimestamp() == null) {
+            return;
+        }
+        Duration latency = Duration.between(message.getTimestamp(), LocalDateTime.now());
+        meterRegistry.timer(END_TO_END_TIMER, "type", String.valueOf(message.getType()))
+                .record(latency.isNegative() ? Duration.ZERO : latency);
+    }
+}
@@ -1,18 +1,27 @@
 package org.example.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.ChatMessageDto;
+import org.example.monitoring.MessageTracer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducer {
 
+    private static final String SEND_TIMER = "chat.kafka.producer.send";
+
     private final KafkaTemplate<String, ChatMessageDto> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final MessageTracer messageTracer;
 
     @Value("${app.kafka.topics.chat-messages}")
     private String chatMessagesTopic;
@@ -20,23 +29,57 @@ public class KafkaProducer {
     @Value("${app.kafka.topics.chat-events}")
     private String chatEventsTopic;
 
+    @Value("${app.kafka.producer.key-by-room:true}")
+    private boolean keyByRoom;
+
     public void sendChatMessage(ChatMessageDto message) {
+        send(chatMessagesTopic, message);
+    }
+
+    public void sendChatEvent(ChatMessageDto event) {
+        send(chatEventsTopic, event);
+    }
+
+    /**
+     * roomId를 key로 비동기 전송
+     * 전송 결과는 콜백에서 메트릭(과 샘플링된 추적 로그)으로 기록하고, 버퍼 초과 등 즉시 실패만 호출자에게 전파
+     */
+    private void send(String topic, ChatMessageDto message) {
+        String key = resolveKey(message);
+        long startNanos = System.nanoTime();
+
         try {
-            kafkaTemplate.send(chatMessagesTopic, message);
-            log.info("Message sent to Kafka topic '{}': {}", chatMessagesTopic, message);
+            kafkaTemplate.send(topic, key, message)
+                    .whenComplete((result, ex) -> onSendComplete(topic, message, startNanos, result, ex));
         } catch (Exception e) {
-            log.error("Error sending message to Kafka: {}", e.getMessage(), e);
+            recordSend(topic, startNanos, "failure");
+            log.error("Error sending message to Kafka topic '{}': {}", topic, e.getMessage(), e);
             throw new RuntimeException("Failed to send message to Kafka", e);
         }
     }
 
-    public void sendChatEvent(ChatMessageDto event) {
-        try {
-            kafkaTemplate.send(chatEventsTopic, event);
-            log.info("Event sent to Kafka topic '{}': {}", chatEventsTopic, event);
-        } catch (Exception e) {
-            log.error("Error sending event to Kafka: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to send event to Kafka", e);
+    private String resolveKey(ChatMessageDto message) {
+        if (!keyByRoom || message.getRoomId() == null) {
+            return null;
         }
+        return message.getRoomId().toString();
+    }
+
+    private void onSendComplete(String topic, ChatMessageDto message, long startNanos,
+                                SendResult<String, ChatMessageDto> result, Throwable ex) {
+        if (ex != null) {
+            recordSend(topic, startNanos, "failure");
+            log.error("Failed to deliver message to Kafka topic '{}': {}", topic, message, ex);
+            return;
+        }
+
+        recordSend(topic, startNanos, "success");
+        messageTracer.trace("produced", message,
+                topic, result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+    }
+
+    private void recordSend(String topic, long startNanos, String outcome) {
+        meterRegistry.timer(SEND_TIMER, "topic", topic, "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package org.example.kafka.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.dto.ChatMessageDto;
+import org.example.model.mongodb.ChatMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * ChatMessageDto 전용 바이너리 코덱
+ *
+ * <pre>
+ * [MAGIC 1byte][VERSION 1byte][presence 1byte]
+ * [id][roomId][sender][content][type][timestamp]   (presence 비트가 켜진 필드만 기록)
+ * </pre>
+ * 문자열은 varint 길이 + UTF-8, roomId는 varint, type은 1byte 코드, timestamp는 epoch초 varint + 나노초 varint
+ * 첫 바이트가 JSON('{')과 겹치지 않으므로 역직렬화 시 JSON 레코드와 구분 가능
+ */
+public final class ChatMessageCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION_1 = 1;
+
+    private static final int HEADER_SIZE = 3;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_ROOM_ID = 1 << 1;
+    private static final int HAS_SENDER = 1 << 2;
+    private static final int HAS_CONTENT = 1 << 3;
+    private static final int HAS_TYPE = 1 << 4;
+    private static final int HAS_TIMESTAMP = 1 << 5;
+
+    private ChatMessageCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(ChatMessageDto message) {
+        byte[] id = utf8(message.getId());
+        byte[] sender = utf8(message.getSender());
+        byte[] content = utf8(message.getContent());
+        LocalDateTime timestamp = message.getTimestamp();
+        long epochSecond = timestamp == null ? 0 : timestamp.toEpochSecond(ZoneOffset.UTC);
+
+        int presence = 0;
+        int size = HEADER_SIZE;
+        if (id != null) {
+            presence |= HAS_ID;
+            size += sizeOfBytes(id);
+        }
+        if (message.getRoomId() != null) {
+            presence |= HAS_ROOM_ID;
+            size += sizeOfVarLong(message.getRoomId());
+        }
+        if (sender != null) {
+            presence |= HAS_SENDER;
+            size += sizeOfBytes(sender);
+        }
+        if (content != null) {
+            presence |= HAS_CONTENT;
+            size += sizeOfBytes(content);
+        }
+        if (message.getType() != null) {
+            presence |= HAS_TYPE;
+            size += 1;
+        }
+        if (timestamp != null) {
+            presence |= HAS_TIMESTAMP;
+            size += sizeOfVarLong(epochSecond) + sizeOfVarLong(timestamp.getNano());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC).put(VERSION_1).put((byte) presence);
+        if (id != null) {
+            writeBytes(buffer, id);
+        }
+        if (message.getRoomId() != null) {
+            writeVarLong(buffer, message.getRoomId());
+        }
+        if (sender != null) {
+            writeBytes(buffer, sender);
+        }
+        if (content != null) {
+            writeBytes(buffer, content);
+        }
+        if (message.getType() != null) {
+            buffer.put(typeCode(message.getType()));
+        }
+        if (timestamp != null) {
+            writeVarLong(buffer, epochSecond);
+            writeVarLong(buffer, timestamp.getNano());
+        }
+        return buffer.array();
+    }
+
+    public static ChatMessageDto decode(byte[] data) {
+        if (data.length < HEADER_SIZE || data[0] != MAGIC) {
+            throw new SerializationException("Not a binary chat message record");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+        byte version = buffer.get();
+        if (version != VERSION_1) {
+            throw new SerializationException("Unsupported chat message codec version: " + version);
+        }
+
+        try {
+            int presence = buffer.get();
+            ChatMessageDto message = new ChatMessageDto();
+            if ((presence & HAS_ID) != 0) {
+                message.setId(readString(buffer));
+            }
+            if ((presence & HAS_ROOM_ID) != 0) {
+                message.setRoomId(readVarLong(buffer));
+            }
+            if ((presence & HAS_SENDER) != 0) {
+                message.setSender(readString(buffer));
+            }
+            if ((presence & HAS_CONTENT) != 0) {
+                message.setContent(readString(buffer));
+            }
+            if ((presence & HAS_TYPE) != 0) {
+                message.setType(typeOf(buffer.get()));
+            }
+            if ((presence & HAS_TIMESTAMP) != 0) {
+                long epochSecond = readVarLong(buffer);
+                int nano = (int) readVarLong(buffer);
+                message.setTimestamp(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+            }
+            return message;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Malformed binary chat message record", e);
+        }
+    }
+
+    private static byte typeCode(ChatMessage.MessageType type) {
+        return switch (type) {
+            case CHAT -> 1;
+            case JOIN -> 2;
+            case LEAVE -> 3;
+        };
+    }
+
+    private static ChatMessage.MessageType typeOf(byte code) {
+        return switch (code) {
+            case 1 -> ChatMessage.MessageType.CHAT;
+            case 2 -> ChatMessage.MessageType.JOIN;
+            case 3 -> ChatMessage.MessageType.LEAVE;
+            default -> throw new SerializationException("Unknown message type code: " + code);
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = (int) readVarLong(buffer);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int sizeOfBytes(byte[] bytes) {
+        return sizeOfVarLong(bytes.length) + bytes.length;
+    }
+
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        writeVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    // 음수가 들어올 일이 없는 필드만 사용하므로 zigzag 없이 unsigned LEB128로 기록
+    private static int sizeOfVarLong(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+}
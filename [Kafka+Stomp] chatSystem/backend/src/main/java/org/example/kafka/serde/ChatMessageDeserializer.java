@@ -0,0 +1,34 @@
+package org.example.kafka.serde;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.example.dto.ChatMessageDto;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * chat-messages / chat-events 레코드 값 역직렬화기
+ * 첫 바이트로 바이너리 코덱과 JSON을 구분하므로 마이그레이션 중 두 형식이 섞여 있어도 읽을 수 있음
+ */
+public class ChatMessageDeserializer implements Deserializer<ChatMessageDto> {
+
+    private final JsonDeserializer<ChatMessageDto> jsonDeserializer = new JsonDeserializer<>(ChatMessageDto.class, false);
+
+    @Override
+    public ChatMessageDto deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return ChatMessageCodec.isBinary(data) ? ChatMessageCodec.decode(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public ChatMessageDto deserialize(String topic, Headers headers, byte[] data) {
+        // JSON 레코드의 __TypeId__ 헤더는 무시하고 항상 ChatMessageDto로 읽음
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.kafka.serde;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.example.dto.ChatMessageDto;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * chat-messages / chat-events 레코드 값 직렬화기
+ * chat.serde.format 프로듀서 설정으로 binary(기본) 또는 json 중 선택 - json은 이전 컨슈머가 남아 있는 마이그레이션 기간용
+ * byte[] 값은 그대로 통과 - DLT 발행/재처리 시 역직렬화에 실패한 원본 바이트를 같은 KafkaTemplate으로 보내기 위함
+ */
+public class ChatMessageSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "chat.serde.format";
+
+    private final JsonSerializer<ChatMessageDto> jsonSerializer = new JsonSerializer<ChatMessageDto>().noTypeInfo();
+    private boolean json;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        json = format != null && "json".equalsIgnoreCase(format.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] raw) {
+            return raw;
+        }
+        ChatMessageDto message = (ChatMessageDto) data;
+        return json ? jsonSerializer.serialize(topic, message) : ChatMessageCodec.encode(message);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
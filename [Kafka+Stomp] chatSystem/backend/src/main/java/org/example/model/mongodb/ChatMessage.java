@@ -5,12 +5,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "chat_messages")
+// 방별 최신순 커서 페이지네이션용 인덱스 - 같은 created_at 내 순서를 위해 _id까지 포함
+@CompoundIndex(name = "room_created_idx", def = "{'room_id': 1, 'created_at': -1, '_id': -1}")
 @Data
 @Builder
 @NoArgsConstructor
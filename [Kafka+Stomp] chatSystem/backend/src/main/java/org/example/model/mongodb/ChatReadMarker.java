@@ -0,0 +1,42 @@
+package org.example.model.mongodb;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저별/채팅방별 마지막으로 읽은 위치 (ChatRoomCounter.messageSeq 기준)
+ * _id를 "{roomId}:{username}"으로 두어 유저의 여러 방 읽음 위치를 _id $in 한 번으로 조회
+ */
+@Document(collection = "chat_read_markers")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadMarker {
+
+    @Id
+    private String id;
+
+    @Field("room_id")
+    private Long roomId;
+
+    @Field("username")
+    private String username;
+
+    @Field("read_seq")
+    private long readSeq;
+
+    @Field("read_at")
+    private LocalDateTime readAt;
+
+    public static String idOf(Long roomId, String username) {
+        return roomId + ":" + username;
+    }
+}
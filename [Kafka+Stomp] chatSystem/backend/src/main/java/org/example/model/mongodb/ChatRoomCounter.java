@@ -0,0 +1,32 @@
+package org.example.model.mongodb;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방별 메시지 순번 - 저장된 CHAT 메시지 수만큼 증가하며, 읽음 위치(ChatReadMarker.readSeq)와의 차이가 안 읽은 수
+ */
+@Document(collection = "chat_room_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomCounter {
+
+    // 채팅방 ID
+    @Id
+    private Long id;
+
+    @Field("message_seq")
+    private long messageSeq;
+
+    @Field("last_message_at")
+    private LocalDateTime lastMessageAt;
+}
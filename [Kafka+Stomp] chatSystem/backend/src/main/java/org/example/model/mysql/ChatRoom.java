@@ -29,7 +29,8 @@ public class ChatRoom {
     private LocalDateTime createdAt;
 
     @ElementCollection
-    @CollectionTable(name = "chat_room_participants", joinColumns = @JoinColumn(name = "room_id"))
+    @CollectionTable(name = "chat_room_participants", joinColumns = @JoinColumn(name = "room_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "username"}))
     @Column(name = "username")
     private Set<String> participants = new HashSet<>();
 
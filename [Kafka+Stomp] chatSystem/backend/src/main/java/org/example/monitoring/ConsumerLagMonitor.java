@@ -0,0 +1,111 @@
+package org.example.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.example.kafka.KafkaDeliveryConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머 그룹 파티션별 lag 게이지 (chat.kafka.consumer.lag)
+ * 커밋된 오프셋과 파티션 끝 오프셋의 차이를 AdminClient로 주기적으로 계산 - 컨슈머가 멈춰 클라이언트 메트릭이 사라진 상황에서도 lag가 보임
+ * 대상: 영속화 그룹(spring.kafka.consumer.group-id)과 이 인스턴스의 실시간 전달 그룹
+ */
+@Component
+@ConditionalOnProperty(name = "app.monitoring.consumer-lag.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ConsumerLagMonitor {
+
+    private static final String LAG_GAUGE = "chat.kafka.consumer.lag";
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final List<String> groupIds;
+    private final Duration timeout;
+    private final Map<Tags, AtomicLong> lags = new ConcurrentHashMap<>();
+    private AdminClient adminClient;
+
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin,
+                              MeterRegistry meterRegistry,
+                              KafkaDeliveryConsumer kafkaDeliveryConsumer,
+                              @Value("${spring.kafka.consumer.group-id}") String persistenceGroupId,
+                              @Value("${app.monitoring.consumer-lag.timeout:5s}") Duration timeout) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.groupIds = List.of(persistenceGroupId, kafkaDeliveryConsumer.getGroupId());
+        this.timeout = timeout;
+    }
+
+    @Scheduled(initialDelayString = "${app.monitoring.consumer-lag.interval:15s}",
+            fixedDelayString = "${app.monitoring.consumer-lag.interval:15s}")
+    public void refresh() {
+        for (String groupId : groupIds) {
+            try {
+                refreshGroup(groupId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to refresh consumer lag for group '{}': {}", groupId, e.getMessage());
+            }
+        }
+    }
+
+    private void refreshGroup(String groupId) throws Exception {
+        AdminClient admin = adminClient();
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (committed.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, OffsetSpec> latestSpec = committed.keySet().stream()
+                .collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = admin.listOffsets(latestSpec)
+                .all()
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        committed.forEach((partition, offset) -> {
+            ListOffsetsResult.ListOffsetsResultInfo end = latest.get(partition);
+            if (offset == null || end == null) {
+                return;
+            }
+            Tags tags = Tags.of("group", groupId, "topic", partition.topic(), "partition", String.valueOf(partition.partition()));
+            lags.computeIfAbsent(tags, t -> meterRegistry.gauge(LAG_GAUGE, t, new AtomicLong()))
+                    .set(Math.max(0, end.offset() - offset.offset()));
+        });
+    }
+
+    private synchronized AdminClient adminClient() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return adminClient;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (adminClient != null) {
+            adminClient.close(timeout);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.monitoring;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.ChatMessageDto;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 샘플링 메시지 추적 로그
+ * 메시지마다 INFO 로그를 남기는 대신 sample-rate 비율의 메시지(또는 추적을 켠 방의 모든 메시지)만 단계별로 한 줄씩 기록
+ * 샘플 여부는 메시지 ID로 결정하므로 한 메시지는 수신/발행/저장/전달 전 단계가 함께 기록되거나 함께 빠짐
+ * 로그는 logfmt 형식 메시지와 함께 key-value로도 남겨 구조화 로그(logging.structured.format)에서 필드로 조회 가능
+ */
+@Component
+@Slf4j(topic = "chat.trace")
+public class MessageTracer {
+
+    @Getter
+    private final double sampleRate;
+    private final Set<Long> tracedRooms = ConcurrentHashMap.newKeySet();
+
+    public MessageTracer(@Value("${app.tracing.messages.sample-rate:0.001}") double sampleRate,
+                         @Value("${app.tracing.messages.rooms:}") Set<Long> tracedRooms) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("app.tracing.messages.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.tracedRooms.addAll(tracedRooms);
+    }
+
+    public void trace(String stage, ChatMessageDto message) {
+        trace(stage, message, null, -1, -1);
+    }
+
+    /**
+     * Kafka 레코드 위치까지 함께 기록 (topic이 null이면 생략)
+     */
+    public void trace(String stage, ChatMessageDto message, String topic, int partition, long offset) {
+        if (!log.isInfoEnabled() || !isSampled(message)) {
+            return;
+        }
+
+        long ageMs = message.getTimestamp() == null ? -1 : Duration.between(message.getTimestamp(), LocalDateTime.now()).toMillis();
+        int contentLength = message.getContent() == null ? 0 : message.getContent().length();
+
+        StringBuilder line = new StringBuilder(160)
+                .append("stage=").append(stage)
+                .append(" messageId=").append(message.getId())
+                .append(" roomId=").append(message.getRoomId())
+                .append(" type=").append(message.getType())
+                .append(" sender=").append(message.getSender())
+                .append(" contentLength=").append(contentLength)
+                .append(" ageMs=").append(ageMs);
+        LoggingEventBuilder event = log.atInfo()
+                .addKeyValue("stage", stage)
+                .addKeyValue("messageId", message.getId())
+                .addKeyValue("roomId", message.getRoomId())
+                .addKeyValue("type", message.getType())
+                .addKeyValue("sender", message.getSender())
+                .addKeyValue("contentLength", contentLength)
+                .addKeyValue("ageMs", ageMs);
+        if (topic != null) {
+            line.append(" topic=").append(topic).append(" partition=").append(partition).append(" offset=").append(offset);
+            event = event.addKeyValue("topic", topic).addKeyValue("partition", partition).addKeyValue("offset", offset);
+        }
+        event.log(line.toString());
+    }
+
+    public boolean isSampled(ChatMessageDto message) {
+        if (message.getRoomId() != null && tracedRooms.contains(message.getRoomId())) {
+            return true;
+        }
+        if (sampleRate <= 0) {
+            return false;
+        }
+        if (sampleRate >= 1) {
+            return true;
+        }
+        return sampleFraction(message.getId()) < sampleRate;
+    }
+
+    public Set<Long> getTracedRooms() {
+        return Set.copyOf(tracedRooms);
+    }
+
+    /**
+     * 방 단위 추적 켜기 - 샘플링과 관계없이 해당 방의 모든 메시지를 기록
+     */
+    public void enableRoom(Long roomId) {
+        tracedRooms.add(roomId);
+    }
+
+    public void disableRoom(Long roomId) {
+        tracedRooms.remove(roomId);
+    }
+
+    // 메시지 ID 해시를 [0, 1)로 변환 - ID가 없으면 무작위
+    private static double sampleFraction(String messageId) {
+        if (messageId == null) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        long hash = messageId.hashCode() * 0x9E3779B97F4A7C15L;
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+}
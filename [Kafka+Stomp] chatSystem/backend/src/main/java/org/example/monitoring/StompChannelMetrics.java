@@ -0,0 +1,35 @@
+package org.example.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 채널 실행기 대기열 게이지 (chat.stomp.channel.queue, channel=inbound|outbound)
+ * 플랫폼 스레드 풀 모드에서만 대기열이 있음 - 가상 스레드 모드에서는 대기 없이 바로 실행되므로 등록하지 않고,
+ * 느린 클라이언트 앞에 쌓이는 프레임은 chat.websocket.buffered.messages(세션 버퍼 합계)로 확인
+ */
+@Component
+public class StompChannelMetrics {
+
+    private static final String QUEUE_GAUGE = "chat.stomp.channel.queue";
+
+    public StompChannelMetrics(MeterRegistry meterRegistry,
+                               @Qualifier("clientInboundChannelExecutor") TaskExecutor clientInboundChannelExecutor,
+                               @Qualifier("clientOutboundChannelExecutor") TaskExecutor clientOutboundChannelExecutor) {
+        register(meterRegistry, "inbound", clientInboundChannelExecutor);
+        register(meterRegistry, "outbound", clientOutboundChannelExecutor);
+    }
+
+    private void register(MeterRegistry meterRegistry, String channel, TaskExecutor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            Gauge.builder(QUEUE_GAUGE, pool, p -> p.getQueueSize())
+                    .tag("channel", channel)
+                    .baseUnit("messages")
+                    .register(meterRegistry);
+        }
+    }
+}
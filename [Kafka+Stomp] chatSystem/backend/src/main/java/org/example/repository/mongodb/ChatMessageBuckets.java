@@ -0,0 +1,97 @@
+package org.example.repository.mongodb;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 월 단위 메시지 버킷 컬렉션 규칙
+ * 메시지는 created_at 기준 chat_messages_yyyyMM 컬렉션에 저장되고, 보존 기간(retention-months)이 지난 버킷은 통째로 정리
+ * 버킷 도입 전의 단일 컬렉션(chat_messages)은 가장 오래된 버킷처럼 조회에 포함하고, 보존 기간이 지난 문서는 문서 단위로 정리
+ */
+@Component
+public class ChatMessageBuckets {
+
+    public static final String LEGACY_COLLECTION = "chat_messages";
+
+    private static final String BUCKET_PREFIX = LEGACY_COLLECTION + "_";
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern BUCKET_PATTERN = Pattern.compile(Pattern.quote(BUCKET_PREFIX) + "(\\d{6})");
+
+    @Getter
+    private final int retentionMonths;
+    private final boolean legacyCollectionEnabled;
+
+    public ChatMessageBuckets(@Value("${app.chat.storage.retention-months:12}") int retentionMonths,
+                              @Value("${app.chat.storage.legacy-collection-enabled:true}") boolean legacyCollectionEnabled) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("app.chat.storage.retention-months must be at least 1");
+        }
+        this.retentionMonths = retentionMonths;
+        this.legacyCollectionEnabled = legacyCollectionEnabled;
+    }
+
+    public String collectionFor(LocalDateTime createdAt) {
+        return collectionFor(YearMonth.from(createdAt));
+    }
+
+    public String collectionFor(YearMonth month) {
+        return BUCKET_PREFIX + month.format(BUCKET_FORMAT);
+    }
+
+    /**
+     * 보존 기간 안에서 가장 오래된 버킷의 월
+     */
+    public YearMonth oldestRetainedMonth() {
+        return YearMonth.now().minusMonths(retentionMonths - 1L);
+    }
+
+    /**
+     * from 시각이 속한 버킷부터 보존 기간의 가장 오래된 버킷까지 최신순 컬렉션 목록 (레거시 컬렉션은 마지막)
+     */
+    public List<String> collectionsDescendingFrom(LocalDateTime from) {
+        return collectionsDescendingBetween(from, null);
+    }
+
+    /**
+     * from 시각이 속한 버킷부터 until 시각이 속한 버킷까지 최신순 컬렉션 목록 (from >= until, 레거시 컬렉션은 마지막)
+     * from이 null이면 현재 월부터, until이 null이거나 보존 기간보다 오래됐으면 보존 기간의 가장 오래된 버킷까지
+     */
+    public List<String> collectionsDescendingBetween(LocalDateTime from, LocalDateTime until) {
+        YearMonth oldest = oldestRetainedMonth();
+        if (until != null && YearMonth.from(until).isAfter(oldest)) {
+            oldest = YearMonth.from(until);
+        }
+        YearMonth current = YearMonth.now();
+        YearMonth month = from == null || YearMonth.from(from).isAfter(current) ? current : YearMonth.from(from);
+
+        List<String> collections = new ArrayList<>();
+        for (; !month.isBefore(oldest); month = month.minusMonths(1)) {
+            collections.add(collectionFor(month));
+        }
+        if (legacyCollectionEnabled) {
+            collections.add(LEGACY_COLLECTION);
+        }
+        return collections;
+    }
+
+    /**
+     * 버킷 컬렉션 이름이면 해당 월, 아니면 empty
+     */
+    public Optional<YearMonth> monthOf(String collectionName) {
+        Matcher matcher = BUCKET_PATTERN.matcher(collectionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.parse(matcher.group(1), BUCKET_FORMAT));
+    }
+}
@@ -1,15 +1,13 @@
 package org.example.repository.mongodb;
 
 import org.example.model.mongodb.ChatMessage;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+/**
+ * 메시지는 월 단위 버킷 컬렉션에 저장되므로 방별 조회/저장은 ChatMessageRepositoryCustom 메서드를 사용
+ * MongoRepository 기본 메서드는 버킷 도입 전의 레거시 컬렉션(chat_messages)만 대상으로 함
+ */
 @Repository
-public interface ChatMessageRepository extends MongoRepository<ChatMessage, String> {
-    List<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId);
-    Page<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId, Pageable pageable);
-} 
\ No newline at end of file
+public interface ChatMessageRepository extends MongoRepository<ChatMessage, String>, ChatMessageRepositoryCustom {
+}
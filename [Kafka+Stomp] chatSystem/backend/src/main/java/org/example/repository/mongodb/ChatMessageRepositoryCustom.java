@@ -0,0 +1,54 @@
+package org.example.repository.mongodb;
+
+import org.example.dto.MessageSearchCondition;
+import org.example.model.mongodb.ChatMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 월 단위 버킷 컬렉션에 걸친 메시지 저장/조회 (구현: ChatMessageRepositoryImpl)
+ */
+public interface ChatMessageRepositoryCustom {
+
+    /**
+     * created_at이 속한 버킷에 _id 기준 upsert ($setOnInsert) - 같은 메시지가 재전달되어도 문서는 하나
+     * @return 새로 저장되었으면 true, 이미 있던 메시지면 false
+     */
+    boolean upsertIntoBucket(ChatMessage chatMessage);
+
+    /**
+     * 버킷별로 묶어 unordered bulk upsert
+     * @return 이번 호출에서 새로 저장된 메시지 (이미 있던 메시지는 제외)
+     */
+    List<ChatMessage> upsertAllIntoBuckets(List<ChatMessage> chatMessages);
+
+    /**
+     * 최신 버킷부터 거슬러 올라가며 방의 최근 메시지를 limit 개까지 최신순으로 조회
+     */
+    List<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId, int limit);
+
+    /**
+     * (createdAt, id) 커서보다 이전 메시지를 limit 개까지 최신순으로 조회 (커서가 null이면 가장 최근부터)
+     */
+    List<ChatMessage> findByRoomIdBefore(Long roomId, LocalDateTime beforeCreatedAt, String beforeId, int limit);
+
+    /**
+     * 방 안에서 조건(보낸 사람, 본문 텍스트, 기간)에 맞는 메시지를 (createdAt, id) 커서 이전부터 limit 개까지 최신순으로 조회
+     * 기간이 주어지면 해당 기간의 버킷만 읽음
+     */
+    List<ChatMessage> searchByRoomId(Long roomId, MessageSearchCondition condition,
+                                     LocalDateTime beforeCreatedAt, String beforeId, int limit);
+
+    /**
+     * 이미 있는 버킷 컬렉션과 레거시 컬렉션에 조회/검색 인덱스 생성 (새 버킷은 첫 쓰기 때 생성)
+     * @return 확인한 컬렉션 수
+     */
+    int ensureIndexesOnExistingCollections();
+
+    /**
+     * 보존 중인 모든 버킷의 메시지를 오래된 순으로 스트리밍 (호출자가 close 해야 함)
+     */
+    Stream<ChatMessage> streamByRoomId(Long roomId);
+}
@@ -0,0 +1,274 @@
+package org.example.repository.mongodb;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.example.dto.MessageSearchCondition;
+import org.example.model.mongodb.ChatMessage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ChatMessageRepositoryCustom 구현
+ * 최신순 조회는 최신 버킷부터 필요한 개수가 찰 때까지만 읽으므로, 최근 대화는 이번 달(또는 직전 달) 버킷의 작은 인덱스만 사용
+ */
+@RequiredArgsConstructor
+public class ChatMessageRepositoryImpl implements ChatMessageRepositoryCustom {
+
+    private static final String ROOM_CREATED_INDEX = "room_created_idx";
+    private static final String ROOM_SENDER_CREATED_INDEX = "room_sender_created_idx";
+    private static final String ROOM_CONTENT_TEXT_INDEX = "room_content_text_idx";
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatMessageBuckets chatMessageBuckets;
+
+    // 인덱스를 확인한 버킷 컬렉션 (월이 바뀌어 새 버킷에 처음 쓸 때만 createIndex 호출)
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean upsertIntoBucket(ChatMessage chatMessage) {
+        String collection = chatMessageBuckets.collectionFor(chatMessage.getCreatedAt());
+        ensureIndexes(collection);
+        UpdateResult result = mongoTemplate.upsert(byId(chatMessage), insertOnly(chatMessage), ChatMessage.class, collection);
+        return result.getUpsertedId() != null;
+    }
+
+    @Override
+    public List<ChatMessage> upsertAllIntoBuckets(List<ChatMessage> chatMessages) {
+        Map<String, List<ChatMessage>> byCollection = chatMessages.stream()
+                .collect(Collectors.groupingBy(
+                        chatMessage -> chatMessageBuckets.collectionFor(chatMessage.getCreatedAt()),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+
+        List<ChatMessage> inserted = new ArrayList<>(chatMessages.size());
+        byCollection.forEach((collection, messages) -> {
+            ensureIndexes(collection);
+            List<Pair<Query, Update>> upserts = messages.stream()
+                    .map(chatMessage -> Pair.of(byId(chatMessage), insertOnly(chatMessage)))
+                    .collect(Collectors.toList());
+
+            BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class, collection)
+                    .upsert(upserts)
+                    .execute();
+            // upsert 결과의 index는 이 bulk 요청 안에서의 순서
+            result.getUpserts().forEach(upsert -> inserted.add(messages.get(upsert.getIndex())));
+        });
+        return inserted;
+    }
+
+    @Override
+    public List<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId, int limit) {
+        return findByRoomIdBefore(roomId, null, null, limit);
+    }
+
+    @Override
+    public List<ChatMessage> findByRoomIdBefore(Long roomId, LocalDateTime beforeCreatedAt, String beforeId, int limit) {
+        Query query = new Query(beforeCursor(Criteria.where("roomId").is(roomId), beforeCreatedAt, beforeId));
+        return findDescending(query, chatMessageBuckets.collectionsDescendingFrom(beforeCreatedAt), limit);
+    }
+
+    @Override
+    public List<ChatMessage> searchByRoomId(Long roomId, MessageSearchCondition condition,
+                                            LocalDateTime beforeCreatedAt, String beforeId, int limit) {
+        Criteria criteria = Criteria.where("roomId").is(roomId);
+        if (condition.sender() != null) {
+            criteria = criteria.and("sender").is(condition.sender());
+        }
+        if (condition.from() != null || condition.to() != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (condition.from() != null) {
+                createdAt.gte(condition.from());
+            }
+            if (condition.to() != null) {
+                createdAt.lt(condition.to());
+            }
+        }
+
+        Query query = new Query(beforeCursor(criteria, beforeCreatedAt, beforeId));
+        if (condition.text() != null) {
+            // room_content_text_idx 사용 - 점수순이 아닌 최신순으로 정렬해 커서 페이지네이션 유지
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(condition.text()));
+        }
+
+        // 커서와 기간 상한 중 이른 시각의 버킷부터 기간 하한의 버킷까지만 조회
+        LocalDateTime newest = beforeCreatedAt;
+        if (condition.to() != null && (newest == null || condition.to().isBefore(newest))) {
+            newest = condition.to();
+        }
+        // 조회 경로에서는 컬렉션/인덱스를 만들지 않음 - 없는 버킷은 건너뛰고, 기존 버킷의 인덱스는 기동 시 ensureIndexesOnExistingCollections에서 생성
+        List<String> collections = chatMessageBuckets.collectionsDescendingBetween(newest, condition.from()).stream()
+                .filter(collection -> indexedCollections.contains(collection) || mongoTemplate.collectionExists(collection))
+                .collect(Collectors.toList());
+        return findDescending(query, collections, limit);
+    }
+
+    @Override
+    public int ensureIndexesOnExistingCollections() {
+        int indexed = 0;
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            if (ChatMessageBuckets.LEGACY_COLLECTION.equals(collection) || chatMessageBuckets.monthOf(collection).isPresent()) {
+                ensureIndexes(collection);
+                indexed++;
+            }
+        }
+        return indexed;
+    }
+
+    private Criteria beforeCursor(Criteria criteria, LocalDateTime beforeCreatedAt, String beforeId) {
+        if (beforeCreatedAt == null) {
+            return criteria;
+        }
+        return criteria.orOperator(
+                Criteria.where("createdAt").lt(beforeCreatedAt),
+                Criteria.where("createdAt").is(beforeCreatedAt).and("id").lt(beforeId)
+        );
+    }
+
+    // 버킷은 월 단위로 겹치지 않으므로 최신 버킷부터 순서대로 이어 붙이면 전체 최신순이 유지됨
+    private List<ChatMessage> findDescending(Query query, List<String> collections, int limit) {
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        List<ChatMessage> messages = new ArrayList<>(limit);
+        for (String collection : collections) {
+            query.limit(limit - messages.size());
+            messages.addAll(mongoTemplate.find(query, ChatMessage.class, collection));
+            if (messages.size() >= limit) {
+                break;
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public Stream<ChatMessage> streamByRoomId(Long roomId) {
+        Query query = new Query(Criteria.where("roomId").is(roomId))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "id"));
+
+        List<String> collections = new ArrayList<>(chatMessageBuckets.collectionsDescendingFrom(null));
+        Collections.reverse(collections);
+
+        // flatMap은 iterator()로 소비하면 버킷 하나를 통째로 버퍼에 올리므로, 버킷 커서를 직접 하나씩 열고 닫음
+        BucketCursorIterator iterator = new BucketCursorIterator(query, collections.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private Query byId(ChatMessage chatMessage) {
+        return new Query(Criteria.where("id").is(chatMessage.getId()));
+    }
+
+    // 이미 저장된 메시지는 건드리지 않도록 모든 필드를 $setOnInsert로만 기록
+    private Update insertOnly(ChatMessage chatMessage) {
+        return new Update()
+                .setOnInsert("roomId", chatMessage.getRoomId())
+                .setOnInsert("sender", chatMessage.getSender())
+                .setOnInsert("content", chatMessage.getContent())
+                .setOnInsert("type", chatMessage.getType())
+                .setOnInsert("createdAt", chatMessage.getCreatedAt());
+    }
+
+    private void ensureIndexes(String collection) {
+        if (indexedCollections.contains(collection)) {
+            return;
+        }
+        // 방별 최신순 커서 페이지네이션용 - ChatMessage의 room_created_idx와 동일
+        mongoTemplate.indexOps(collection).ensureIndex(
+                new CompoundIndexDefinition(new Document("room_id", 1).append("created_at", -1).append("_id", -1))
+                        .named(ROOM_CREATED_INDEX));
+        // 보낸 사람 검색용 - 방 안에서 sender로 좁힌 뒤 최신순
+        mongoTemplate.indexOps(collection).ensureIndex(
+                new CompoundIndexDefinition(new Document("room_id", 1).append("sender", 1).append("created_at", -1).append("_id", -1))
+                        .named(ROOM_SENDER_CREATED_INDEX));
+        // 본문 검색용 텍스트 인덱스 - room_id를 접두 키로 두어 한 방의 항목만 읽음
+        // 한국어 형태소 분석기가 없으므로 언어는 none (불용어 제거/어간 추출 없이 공백 단위 토큰 일치)
+        mongoTemplate.indexOps(collection).ensureIndex(new RoomContentTextIndex());
+        indexedCollections.add(collection);
+    }
+
+    /**
+     * 버킷 컬렉션을 차례로 읽는 iterator - 현재 버킷의 커서를 다 읽으면 닫고 다음 버킷의 커서를 열어 동시에 열린 커서는 하나뿐
+     */
+    private final class BucketCursorIterator implements Iterator<ChatMessage> {
+
+        private final Query query;
+        private final Iterator<String> collections;
+        private Stream<ChatMessage> cursor;
+        private Iterator<ChatMessage> messages = Collections.emptyIterator();
+
+        private BucketCursorIterator(Query query, Iterator<String> collections) {
+            this.query = query;
+            this.collections = collections;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!messages.hasNext()) {
+                close();
+                if (!collections.hasNext()) {
+                    return false;
+                }
+                cursor = mongoTemplate.stream(query, ChatMessage.class, collections.next());
+                messages = cursor.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public ChatMessage next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return messages.next();
+        }
+
+        private void close() {
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+                messages = Collections.emptyIterator();
+            }
+        }
+    }
+
+    /**
+     * {room_id: 1, content: "text"} 복합 텍스트 인덱스
+     * TextIndexDefinition은 텍스트 앞에 일반 키를 둘 수 없어 직접 정의
+     */
+    private static final class RoomContentTextIndex implements IndexDefinition {
+
+        @Override
+        public Document getIndexKeys() {
+            return new Document("room_id", 1).append("content", "text");
+        }
+
+        @Override
+        public Document getIndexOptions() {
+            return new Document("name", ROOM_CONTENT_TEXT_INDEX).append("default_language", "none");
+        }
+    }
+}
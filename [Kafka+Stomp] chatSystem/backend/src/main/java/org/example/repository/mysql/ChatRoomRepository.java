@@ -1,13 +1,57 @@
 package org.example.repository.mysql;
 
 import org.example.model.mysql.ChatRoom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+    // participants를 한 번의 조인으로 함께 읽어 방마다 컬렉션을 추가 조회하는 N+1을 방지
+    @EntityGraph(attributePaths = "participants")
     List<ChatRoom> findAllByOrderByCreatedAtDesc();
+
     List<ChatRoom> findByParticipantsContaining(String username);
-} 
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "participants")
+    Optional<ChatRoom> findWithParticipantsById(Long id);
+
+    @EntityGraph(attributePaths = "participants")
+    List<ChatRoom> findWithParticipantsByIdIn(Collection<Long> ids);
+
+    // 유저가 참여 중인 방 ID 목록 (user→rooms 인덱스 캐시 적재용)
+    @Query("select r.id from ChatRoom r join r.participants p where p = :username order by r.createdAt desc")
+    List<Long> findRoomIdsByParticipant(@Param("username") String username);
+
+    // 참여 여부 (캐시를 거치지 않는 권한 확인용)
+    @Query(value = "SELECT COUNT(*) FROM chat_room_participants WHERE room_id = :roomId AND username = :username", nativeQuery = true)
+    long countParticipant(@Param("roomId") Long roomId, @Param("username") String username);
+
+    // 참가자 변경 시 방 행 잠금 - 입장은 공유 잠금으로 동시에 진행하고, 퇴장(방 삭제 가능)은 배타 잠금으로 직렬화
+    @Query(value = "SELECT id FROM chat_rooms WHERE id = :roomId FOR SHARE", nativeQuery = true)
+    Optional<Long> lockForJoin(@Param("roomId") Long roomId);
+
+    @Query(value = "SELECT id FROM chat_rooms WHERE id = :roomId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForLeave(@Param("roomId") Long roomId);
+
+    // 컬렉션 전체를 읽고 다시 쓰지 않고 참가자 행 하나만 추가/삭제
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO chat_room_participants (room_id, username) VALUES (:roomId, :username)", nativeQuery = true)
+    int insertParticipant(@Param("roomId") Long roomId, @Param("username") String username);
+
+    @Modifying
+    @Query(value = "DELETE FROM chat_room_participants WHERE room_id = :roomId AND username = :username", nativeQuery = true)
+    int deleteParticipant(@Param("roomId") Long roomId, @Param("username") String username);
+
+    @Modifying
+    @Query(value = "DELETE FROM chat_rooms WHERE id = :roomId " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_room_participants WHERE room_id = :roomId)", nativeQuery = true)
+    int deleteIfNoParticipants(@Param("roomId") Long roomId);
+}
@@ -0,0 +1,33 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.mongodb.ChatMessageRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 기존 버킷/레거시 컬렉션의 인덱스 생성 (검색용 인덱스 도입 전에 만들어진 컬렉션 이관)
+ * 큰 레거시 컬렉션의 텍스트 인덱스 생성은 오래 걸릴 수 있으므로 요청 경로나 기동 스레드가 아닌 별도 스레드에서 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageIndexInitializer {
+
+    private final ChatMessageRepository chatMessageRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        Thread.ofVirtual().name("chat-index-init").start(() -> {
+            try {
+                int indexed = chatMessageRepository.ensureIndexesOnExistingCollections();
+                log.info("Ensured chat message indexes on {} existing collection(s)", indexed);
+            } catch (Exception e) {
+                // 실패해도 새 버킷은 첫 쓰기 때 인덱스가 생성되므로 기동은 계속함
+                log.warn("Failed to ensure chat message indexes on existing collections: {}", e.getMessage());
+            }
+        });
+    }
+}
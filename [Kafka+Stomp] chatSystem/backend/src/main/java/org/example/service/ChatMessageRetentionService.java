@@ -0,0 +1,117 @@
+package org.example.service;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.example.repository.mongodb.ChatMessageBuckets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 보존 기간이 지난 월 버킷 정리
+ * 문서 단위 TTL 삭제 대신 컬렉션을 통째로 drop(또는 archive_ 접두사로 rename)하므로 삭제 부하와 인덱스 단편화가 없음
+ * 버킷 도입 전 레거시 컬렉션(chat_messages)은 월 단위로 나뉘어 있지 않으므로 보존 기간이 지난 문서만 배치로 삭제(또는 archive_chat_messages로 이동)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageRetentionService {
+
+    public static final String ARCHIVE_PREFIX = "archive_";
+
+    // 레거시 컬렉션 정리 시 한 번에 옮기거나 지우는 문서 수 - 긴 단일 삭제로 쓰기 잠금을 오래 잡지 않도록
+    private static final int LEGACY_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatMessageBuckets chatMessageBuckets;
+
+    @Value("${app.chat.storage.archive-mode:DROP}")
+    private ArchiveMode archiveMode;
+
+    public enum ArchiveMode {
+        /**
+         * 만료 버킷 삭제
+         */
+        DROP,
+        /**
+         * archive_chat_messages_yyyyMM로 이름만 바꿔 조회 대상에서 제외 (백업/이관 후 수동 삭제)
+         */
+        RENAME
+    }
+
+    @Scheduled(cron = "${app.chat.storage.archive-cron:0 30 3 * * *}")
+    public void archiveExpiredBuckets() {
+        YearMonth oldestRetained = chatMessageBuckets.oldestRetainedMonth();
+
+        int archived = 0;
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            boolean expired = chatMessageBuckets.monthOf(collection)
+                    .map(month -> month.isBefore(oldestRetained))
+                    .orElse(false);
+            if (!expired) {
+                continue;
+            }
+
+            if (archiveMode == ArchiveMode.RENAME) {
+                MongoNamespace target = new MongoNamespace(mongoTemplate.getDb().getName(), ARCHIVE_PREFIX + collection);
+                mongoTemplate.getCollection(collection).renameCollection(target);
+            } else {
+                mongoTemplate.dropCollection(collection);
+            }
+            archived++;
+            log.info("Archived expired chat message bucket '{}' ({})", collection, archiveMode);
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} chat message bucket(s) older than {}", archived, oldestRetained);
+        }
+
+        long legacyArchived = archiveExpiredLegacyMessages(oldestRetained);
+        if (legacyArchived > 0) {
+            log.info("Archived {} legacy chat message(s) older than {} ({})", legacyArchived, oldestRetained, archiveMode);
+        }
+    }
+
+    /**
+     * 레거시 컬렉션에서 보존 기간이 지난 문서를 배치 단위로 정리
+     * RENAME 모드는 archive_chat_messages에 upsert한 뒤 삭제하므로 중간에 실패해도 다음 실행에서 이어서 처리
+     * created_at으로 시작하는 인덱스가 없지만 레거시 문서는 시간순으로 쌓였으므로 만료 문서가 앞쪽에서 먼저 찾아짐
+     */
+    private long archiveExpiredLegacyMessages(YearMonth oldestRetained) {
+        if (!mongoTemplate.collectionExists(ChatMessageBuckets.LEGACY_COLLECTION)) {
+            return 0;
+        }
+
+        Query expired = Query.query(Criteria.where("created_at").lt(oldestRetained.atDay(1).atStartOfDay()))
+                .limit(LEGACY_BATCH_SIZE);
+        long archived = 0;
+        while (true) {
+            List<Document> batch = mongoTemplate.find(expired, Document.class, ChatMessageBuckets.LEGACY_COLLECTION);
+            if (batch.isEmpty()) {
+                return archived;
+            }
+
+            List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+            if (archiveMode == ArchiveMode.RENAME) {
+                List<ReplaceOneModel<Document>> copies = batch.stream()
+                        .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+                                new ReplaceOptions().upsert(true)))
+                        .toList();
+                mongoTemplate.getCollection(ARCHIVE_PREFIX + ChatMessageBuckets.LEGACY_COLLECTION).bulkWrite(copies);
+            }
+            mongoTemplate.getCollection(ChatMessageBuckets.LEGACY_COLLECTION).deleteMany(Filters.in("_id", ids));
+            archived += batch.size();
+        }
+    }
+}
@@ -1,57 +1,194 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.example.cache.RecentMessageCache;
 import org.example.dto.ChatMessageDto;
+import org.example.dto.ChatMessagePageDto;
+import org.example.dto.MessageCursor;
+import org.example.dto.MessageSearchCondition;
 import org.example.model.mongodb.ChatMessage;
 import org.example.repository.mongodb.ChatMessageRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SAVE_TIMER = "chat.mongo.save";
+
     private final ChatMessageRepository chatMessageRepository;
+    private final MeterRegistry meterRegistry;
+    private final RecentMessageCache recentMessageCache;
+    private final ReadReceiptService readReceiptService;
 
+    /**
+     * 실시간 전달된 메시지를 최근 메시지 캐시에 반영 (KafkaDeliveryConsumer)
+     * 영속화 그룹은 파티션을 노드끼리 나눠 받으므로, 모든 노드가 전체 메시지를 받는 전달 컨슈머 쪽에서 채워야 노드별 캐시가 완전함
+     * 저장본과 같은 ID/시각(ms)으로 맞춰 넣어 커서와 중복 제거가 저장본 기준과 일치하도록 함
+     */
+    public void cacheDelivered(ChatMessageDto messageDto) {
+        if (messageDto.getId() == null) {
+            return; // ID 도입 전 발행분은 저장 시 ID가 정해지므로 영속화 쪽에서만 반영
+        }
+        recentMessageCache.append(convertToDto(convertToEntity(messageDto)));
+    }
+
+    /**
+     * 메시지 ID 기준 upsert - 리밸런스 후 재전달된 메시지는 저장도 캐시/안 읽은 수 반영도 하지 않음
+     */
     public void saveMessage(ChatMessageDto messageDto) {
-        ChatMessage chatMessage = ChatMessage.builder()
-                .roomId(messageDto.getRoomId())
-                .sender(messageDto.getSender())
-                .content(messageDto.getContent())
-                .type(messageDto.getType())
-                .createdAt(LocalDateTime.now())
-                .build();
-        
-        chatMessageRepository.save(chatMessage);
+        ChatMessage chatMessage = convertToEntity(messageDto);
+        boolean inserted = meterRegistry.timer(SAVE_TIMER, "mode", "single")
+                .record(() -> chatMessageRepository.upsertIntoBucket(chatMessage));
+        if (inserted) {
+            recentMessageCache.append(convertToDto(chatMessage));
+            readReceiptService.onMessagesPersisted(List.of(chatMessage));
+        }
+        recordPersistenceLag(messageDto);
+    }
+
+    /**
+     * 여러 메시지를 버킷별 unordered bulk upsert로 저장 (이미 저장된 메시지는 건너뜀)
+     * 일부 문서가 실패하면 예외를 던져 호출자(배치 리스너)가 오프셋을 커밋하지 않도록 함
+     */
+    public void saveMessages(List<ChatMessageDto> messageDtos) {
+        if (messageDtos.isEmpty()) {
+            return;
+        }
+
+        List<ChatMessage> chatMessages = messageDtos.stream()
+                .map(this::convertToEntity)
+                .collect(Collectors.toList());
+
+        List<ChatMessage> inserted = meterRegistry.timer(SAVE_TIMER, "mode", "bulk")
+                .record(() -> chatMessageRepository.upsertAllIntoBuckets(chatMessages));
+
+        inserted.forEach(chatMessage -> recentMessageCache.append(convertToDto(chatMessage)));
+        readReceiptService.onMessagesPersisted(inserted);
+        messageDtos.forEach(this::recordPersistenceLag);
     }
 
+    /**
+     * 메시지 발행 시각(timestamp)부터 저장 완료까지의 지연 - 실시간 전달 대비 기록 저장이 얼마나 밀려 있는지 나타냄
+     */
+    private void recordPersistenceLag(ChatMessageDto messageDto) {
+        if (messageDto.getTimestamp() == null) {
+            return;
+        }
+        Duration lag = Duration.between(messageDto.getTimestamp(), LocalDateTime.now());
+        meterRegistry.timer("chat.persistence.lag").record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * 최근 메시지 조회 - warm 상태인 방은 RecentMessageCache에서 바로 반환
+     * 캐시 미스 시 버퍼 용량만큼 읽어 캐시를 채운 뒤 limit 개만 반환
+     */
     public List<ChatMessageDto> getRecentMessages(Long roomId, int limit) {
-        Page<ChatMessage> messages = chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(
-                roomId, 
-                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"))
-        );
-        
-        return messages.getContent().stream()
+        Optional<List<ChatMessageDto>> cached = recentMessageCache.get(roomId, limit);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long stamp = recentMessageCache.writeStamp(roomId);
+        int fetchSize = Math.max(limit, recentMessageCache.getCapacity());
+        List<ChatMessage> messages = chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, fetchSize);
+
+        List<ChatMessageDto> recentMessages = messages.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        recentMessageCache.load(roomId, recentMessages, stamp);
+
+        return recentMessages.size() > limit ? recentMessages.subList(0, limit) : recentMessages;
     }
 
-    public List<ChatMessageDto> getAllMessages(Long roomId) {
-        List<ChatMessage> messages = chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId);
-        
-        return messages.stream()
+    /**
+     * 커서 기반 메시지 기록 조회 (최신순)
+     * before 커서보다 이전 메시지를 limit 개까지 반환하며, 커서가 속한 버킷부터 room_created_idx 인덱스 범위만 읽으므로 방 크기와 무관하게 O(page)
+     */
+    public ChatMessagePageDto getMessagesBefore(Long roomId, MessageCursor before, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<ChatMessage> page = before == null
+                ? chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, pageSize + 1)
+                : chatMessageRepository.findByRoomIdBefore(roomId, before.createdAt(), before.id(), pageSize + 1);
+
+        return toPage(page, pageSize);
+    }
+
+    /**
+     * 방 안의 메시지 검색 (보낸 사람, 본문 텍스트, 기간) - getMessagesBefore와 같은 커서 페이지로 반환
+     * 본문 검색은 room_content_text_idx 텍스트 인덱스를 사용하며 공백으로 구분된 단어 단위로 일치
+     */
+    public ChatMessagePageDto searchMessages(Long roomId, MessageSearchCondition condition, MessageCursor before, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<ChatMessage> page = chatMessageRepository.searchByRoomId(roomId, condition,
+                before == null ? null : before.createdAt(),
+                before == null ? null : before.id(),
+                pageSize + 1);
+
+        return toPage(page, pageSize);
+    }
+
+    // pageSize + 1개를 조회해 다음 페이지 존재 여부를 판단
+    private ChatMessagePageDto toPage(List<ChatMessage> page, int pageSize) {
+        List<ChatMessageDto> messages = page.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+
+        boolean hasNext = messages.size() > pageSize;
+        if (hasNext) {
+            messages = messages.subList(0, pageSize);
+        }
+
+        return ChatMessagePageDto.builder()
+                .messages(messages)
+                .nextCursor(hasNext ? MessageCursor.of(messages.get(messages.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 채팅방 전체 기록을 오래된 순으로 스트리밍 (내보내기용)
+     * 결과를 메모리에 모으지 않고 버킷별 MongoDB 커서를 차례로 흘려보내므로 호출자가 반드시 close 해야 함
+     */
+    public Stream<ChatMessageDto> streamAllMessages(Long roomId) {
+        return chatMessageRepository.streamByRoomId(roomId)
+                .map(this::convertToDto);
+    }
+
+    /**
+     * ID와 시각은 발행 시점(ChatMessageController)에 정해진 값을 그대로 사용해 재전달되어도 같은 문서/버킷이 되도록 함
+     * ID가 없는 메시지(ID 도입 전 발행분)만 새로 생성
+     */
+    private ChatMessage convertToEntity(ChatMessageDto messageDto) {
+        LocalDateTime createdAt = messageDto.getTimestamp() != null ? messageDto.getTimestamp() : LocalDateTime.now();
+        return ChatMessage.builder()
+                .id(messageDto.getId() != null ? messageDto.getId() : ObjectId.get().toHexString())
+                .roomId(messageDto.getRoomId())
+                .sender(messageDto.getSender())
+                .content(messageDto.getContent())
+                .type(messageDto.getType())
+                // MongoDB Date 정밀도(ms)에 맞춰 캐시와 저장본의 시각을 일치시킴
+                .createdAt(createdAt.truncatedTo(ChronoUnit.MILLIS))
+                .build();
     }
 
     private ChatMessageDto convertToDto(ChatMessage chatMessage) {
         return ChatMessageDto.builder()
+                .id(chatMessage.getId())
                 .roomId(chatMessage.getRoomId())
                 .sender(chatMessage.getSender())
                 .content(chatMessage.getContent())
@@ -1,14 +1,26 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.cache.ChatRoomCacheInvalidator;
+import org.example.config.CacheConfig;
 import org.example.dto.ChatRoomDto;
 import org.example.model.mysql.ChatRoom;
 import org.example.repository.mysql.ChatRoomRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,7 +29,10 @@ import java.util.stream.Collectors;
 public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Cacheable(cacheNames = CacheConfig.ALL_CHAT_ROOMS)
     @Transactional(readOnly = true)
     public List<ChatRoomDto> getAllChatRooms() {
         return chatRoomRepository.findAllByOrderByCreatedAtDesc().stream()
@@ -25,19 +40,37 @@ public class ChatRoomService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 유저가 참여 중인 채팅방 목록
+     * user→방 ID 인덱스(userChatRooms)와 방 DTO 캐시(chatRooms)를 조합하므로,
+     * 다른 유저의 입장/퇴장은 해당 방 캐시만 무효화해도 모든 유저 목록에 반영됨
+     */
     public List<ChatRoomDto> getUserChatRooms(String username) {
-        return chatRoomRepository.findByParticipantsContaining(username).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        Cache userRoomIdsCache = cacheManager.getCache(CacheConfig.USER_CHAT_ROOMS);
+        List<Long> roomIds = userRoomIdsCache.get(username, () -> chatRoomRepository.findRoomIdsByParticipant(username));
+
+        return getChatRoomsByIds(roomIds);
     }
 
+    @Cacheable(cacheNames = CacheConfig.CHAT_ROOMS, key = "#roomId", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<ChatRoomDto> getChatRoomById(Long roomId) {
-        return chatRoomRepository.findById(roomId)
+        return chatRoomRepository.findWithParticipantsById(roomId)
                 .map(this::convertToDto);
     }
 
+    /**
+     * 참여 여부 - 권한 판단용이므로 다른 노드의 변경이 바로 보이도록 캐시를 거치지 않음
+     */
+    @Transactional(readOnly = true)
+    public boolean isParticipant(Long roomId, String username) {
+        return chatRoomRepository.countParticipant(roomId, username) > 0;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ALL_CHAT_ROOMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_CHAT_ROOMS, key = "#creator")
+    })
     @Transactional
     public ChatRoomDto createChatRoom(String roomName, String creator) {
         ChatRoom chatRoom = ChatRoom.builder()
@@ -48,43 +81,75 @@ public class ChatRoomService {
         chatRoom.getParticipants().add(creator);
         
         ChatRoom savedRoom = chatRoomRepository.save(chatRoom);
+        eventPublisher.publishEvent(new ChatRoomCacheInvalidator.ChatRoomChanged(null, creator));
         return convertToDto(savedRoom);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ALL_CHAT_ROOMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CHAT_ROOMS, key = "#roomId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_CHAT_ROOMS, key = "#username")
+    })
     @Transactional
     public boolean addUserToChatRoom(Long roomId, String username) {
-        Optional<ChatRoom> optionalChatRoom = chatRoomRepository.findById(roomId);
-        
-        if (optionalChatRoom.isPresent()) {
-            ChatRoom chatRoom = optionalChatRoom.get();
-            chatRoom.getParticipants().add(username);
-            chatRoomRepository.save(chatRoom);
-            return true;
+        if (chatRoomRepository.lockForJoin(roomId).isEmpty()) {
+            return false;
         }
-        
-        return false;
+
+        // 이미 참여 중이면 INSERT IGNORE로 무시
+        chatRoomRepository.insertParticipant(roomId, username);
+        eventPublisher.publishEvent(new ChatRoomCacheInvalidator.ChatRoomChanged(roomId, username));
+        return true;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ALL_CHAT_ROOMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CHAT_ROOMS, key = "#roomId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_CHAT_ROOMS, key = "#username")
+    })
     @Transactional
     public boolean removeUserFromChatRoom(Long roomId, String username) {
-        Optional<ChatRoom> optionalChatRoom = chatRoomRepository.findById(roomId);
-        
-        if (optionalChatRoom.isPresent()) {
-            ChatRoom chatRoom = optionalChatRoom.get();
-            boolean removed = chatRoom.getParticipants().remove(username);
-            
-            if (removed) {
-                // If no participants left, delete the room
-                if (chatRoom.getParticipants().isEmpty()) {
-                    chatRoomRepository.delete(chatRoom);
-                } else {
-                    chatRoomRepository.save(chatRoom);
-                }
-                return true;
+        if (chatRoomRepository.lockForLeave(roomId).isEmpty()) {
+            return false;
+        }
+
+        if (chatRoomRepository.deleteParticipant(roomId, username) == 0) {
+            return false;
+        }
+
+        // If no participants left, delete the room
+        chatRoomRepository.deleteIfNoParticipants(roomId);
+        eventPublisher.publishEvent(new ChatRoomCacheInvalidator.ChatRoomChanged(roomId, username));
+        return true;
+    }
+
+    // 캐시에 없는 방만 한 번의 fetch join 쿼리로 읽어 chatRooms 캐시에 채움
+    private List<ChatRoomDto> getChatRoomsByIds(List<Long> roomIds) {
+        Cache roomCache = cacheManager.getCache(CacheConfig.CHAT_ROOMS);
+        Map<Long, ChatRoomDto> rooms = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long roomId : roomIds) {
+            ChatRoomDto cached = roomCache.get(roomId, ChatRoomDto.class);
+            if (cached != null) {
+                rooms.put(roomId, cached);
+            } else {
+                missingIds.add(roomId);
             }
         }
-        
-        return false;
+
+        if (!missingIds.isEmpty()) {
+            for (ChatRoom chatRoom : chatRoomRepository.findWithParticipantsByIdIn(missingIds)) {
+                ChatRoomDto dto = convertToDto(chatRoom);
+                roomCache.put(chatRoom.getId(), dto);
+                rooms.put(chatRoom.getId(), dto);
+            }
+        }
+
+        return roomIds.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     private ChatRoomDto convertToDto(ChatRoom chatRoom) {
@@ -92,7 +157,8 @@ public class ChatRoomService {
                 .id(chatRoom.getId())
                 .roomName(chatRoom.getRoomName())
                 .createdAt(chatRoom.getCreatedAt())
-                .participants(chatRoom.getParticipants())
+                // 캐시에 담기므로 Hibernate 컬렉션이 아닌 복사본을 사용
+                .participants(new HashSet<>(chatRoom.getParticipants()))
                 .build();
     }
 } 
\ No newline at end of file
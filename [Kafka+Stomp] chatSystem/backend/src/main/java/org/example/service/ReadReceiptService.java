@@ -0,0 +1,132 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.ChatRoomDto;
+import org.example.model.mongodb.ChatMessage;
+import org.example.model.mongodb.ChatReadMarker;
+import org.example.model.mongodb.ChatRoomCounter;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 읽음 위치와 안 읽은 메시지 수
+ * 영속화 컨슈머가 새로 저장한 CHAT 메시지 수만큼 방 순번(chat_room_counters)을 올리고, 유저는 읽은 순번(chat_read_markers)만 기록
+ * 안 읽은 수 = 방 순번 - 읽은 순번 이므로 메시지 컬렉션을 세지 않고 방 수에 비례하는 조회 두 번으로 계산
+ */
+@Service
+@RequiredArgsConstructor
+public class ReadReceiptService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatRoomService chatRoomService;
+
+    /**
+     * 새로 저장된 메시지 반영 (이미 저장돼 있던 재전달 메시지는 호출자가 제외하므로 중복 증가 없음)
+     * 보낸 사람은 자기 메시지까지 읽은 것으로 처리
+     * 메시지 저장 후 카운터 갱신 전에 실패하면 재처리 시 이미 저장된 메시지로 보고 건너뛰므로, 안 읽은 수는 많아지지 않고 적게 잡힐 수 있음
+     */
+    public void onMessagesPersisted(List<ChatMessage> chatMessages) {
+        Map<Long, List<ChatMessage>> byRoom = chatMessages.stream()
+                .filter(chatMessage -> chatMessage.getType() == ChatMessage.MessageType.CHAT)
+                .collect(Collectors.groupingBy(ChatMessage::getRoomId, LinkedHashMap::new, Collectors.toList()));
+
+        byRoom.forEach(this::advanceRoom);
+    }
+
+    /**
+     * 방의 현재 순번까지 읽음 처리
+     */
+    public void markRead(Long roomId, String username) {
+        ChatRoomCounter counter = mongoTemplate.findById(roomId, ChatRoomCounter.class);
+        long seq = counter == null ? 0 : counter.getMessageSeq();
+        mongoTemplate.upsert(markerQuery(roomId, username), advanceMarker(roomId, username, seq), ChatReadMarker.class);
+    }
+
+    public void removeMarker(Long roomId, String username) {
+        mongoTemplate.remove(markerQuery(roomId, username), ChatReadMarker.class);
+    }
+
+    /**
+     * 유저가 참여 중인 모든 방의 안 읽은 메시지 수 (방 ID → 개수, getUserChatRooms 순서)
+     */
+    public Map<Long, Long> getUnreadCounts(String username) {
+        List<Long> roomIds = chatRoomService.getUserChatRooms(username).stream()
+                .map(ChatRoomDto::getId)
+                .collect(Collectors.toList());
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Long> roomSeqs = mongoTemplate.find(new Query(Criteria.where("id").in(roomIds)), ChatRoomCounter.class).stream()
+                .collect(Collectors.toMap(ChatRoomCounter::getId, ChatRoomCounter::getMessageSeq));
+
+        List<String> markerIds = roomIds.stream()
+                .map(roomId -> ChatReadMarker.idOf(roomId, username))
+                .collect(Collectors.toList());
+        Map<Long, Long> readSeqs = mongoTemplate.find(new Query(Criteria.where("id").in(markerIds)), ChatReadMarker.class).stream()
+                .collect(Collectors.toMap(ChatReadMarker::getRoomId, ChatReadMarker::getReadSeq));
+
+        Map<Long, Long> unreadCounts = new LinkedHashMap<>();
+        for (Long roomId : roomIds) {
+            long unread = roomSeqs.getOrDefault(roomId, 0L) - readSeqs.getOrDefault(roomId, 0L);
+            unreadCounts.put(roomId, Math.max(unread, 0));
+        }
+        return unreadCounts;
+    }
+
+    private void advanceRoom(Long roomId, List<ChatMessage> messages) {
+        LocalDateTime lastMessageAt = messages.stream()
+                .map(ChatMessage::getCreatedAt)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        ChatRoomCounter counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(roomId)),
+                new Update().inc("messageSeq", messages.size()).max("lastMessageAt", lastMessageAt),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ChatRoomCounter.class);
+
+        // 이번에 증가한 구간(firstSeq ~ messageSeq)을 메시지 순서대로 배정해 보낸 사람별 마지막 순번을 구함
+        long firstSeq = counter.getMessageSeq() - messages.size() + 1;
+        Map<String, Long> senderSeqs = new HashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            String sender = messages.get(i).getSender();
+            if (sender != null) {
+                senderSeqs.merge(sender, firstSeq + i, Math::max);
+            }
+        }
+        if (senderSeqs.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatReadMarker.class);
+        senderSeqs.forEach((sender, seq) -> bulkOps.upsert(markerQuery(roomId, sender), advanceMarker(roomId, sender, seq)));
+        bulkOps.execute();
+    }
+
+    private Query markerQuery(Long roomId, String username) {
+        return new Query(Criteria.where("id").is(ChatReadMarker.idOf(roomId, username)));
+    }
+
+    // 읽음 위치는 뒤로 가지 않도록 $max
+    private Update advanceMarker(Long roomId, String username, long seq) {
+        return new Update()
+                .setOnInsert("roomId", roomId)
+                .setOnInsert("username", username)
+                .max("readSeq", seq)
+                .set("readAt", LocalDateTime.now());
+    }
+}
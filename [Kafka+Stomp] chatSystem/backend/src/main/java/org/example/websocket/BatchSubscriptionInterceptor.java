@@ -0,0 +1,108 @@
+package org.example.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 묶음 전송(coalescing) 구독 처리 인터셉터 (clientInboundChannel)
+ * SUBSCRIBE 프레임에 x-coalesce:true 헤더가 있으면 /topic/chat/{roomId} 구독을 /topic/chat/{roomId}/batch로 바꾸고,
+ * 방별 묶음 구독자 수를 관리해 구독자가 있는 방만 ChatMessageCoalescer가 묶음을 발행하도록 함
+ */
+@Component
+public class BatchSubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String COALESCE_HEADER = "x-coalesce";
+    public static final String ROOM_TOPIC_PREFIX = "/topic/chat/";
+    public static final String BATCH_SUFFIX = "/batch";
+
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> roomSubscriberCounts = new ConcurrentHashMap<>();
+
+    @Value("${app.websocket.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == null) {
+            return message;
+        }
+
+        return switch (messageType) {
+            case SUBSCRIBE -> onSubscribe(message);
+            case UNSUBSCRIBE -> {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                release(accessor.getSessionId(), accessor.getSubscriptionId());
+                yield message;
+            }
+            case DISCONNECT -> {
+                releaseSession(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+                yield message;
+            }
+            default -> message;
+        };
+    }
+
+    public boolean hasBatchSubscribers(Long roomId) {
+        AtomicInteger count = roomSubscriberCounts.get(roomId);
+        return count != null && count.get() > 0;
+    }
+
+    private Message<?> onSubscribe(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (!enabled || destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)
+                || !"true".equalsIgnoreCase(accessor.getFirstNativeHeader(COALESCE_HEADER))) {
+            return message;
+        }
+
+        Long roomId;
+        try {
+            roomId = Long.valueOf(destination.substring(ROOM_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return message;
+        }
+
+        sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        roomSubscriberCounts.computeIfAbsent(roomId, id -> new AtomicInteger()).incrementAndGet();
+
+        accessor.setDestination(destination + BATCH_SUFFIX);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private void release(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = sessionId == null ? null : sessionSubscriptions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null) {
+            return;
+        }
+
+        Long roomId = subscriptions.remove(subscriptionId);
+        if (roomId != null) {
+            decrement(roomId);
+        }
+    }
+
+    private void releaseSession(String sessionId) {
+        Map<String, Long> subscriptions = sessionId == null ? null : sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(Long roomId) {
+        roomSubscriberCounts.computeIfPresent(roomId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
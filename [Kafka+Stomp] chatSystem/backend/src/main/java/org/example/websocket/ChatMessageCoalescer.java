@@ -0,0 +1,107 @@
+package org.example.websocket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.ChatMessageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방별 메시지 묶음 전송
+ * 묶음 구독자가 있는 방의 메시지를 window 동안 모아 /topic/chat/{roomId}/batch로 배열 프레임 하나를 발행
+ * window가 지나거나 max-batch에 도달하면 즉시 내보냄
+ * 방 버퍼의 추가와 제거는 batches.compute / remove로 원자적으로 처리해 방마다 버퍼가 하나뿐이고,
+ * 발행은 맵 잠금 밖에서 단일 스케줄러 스레드가 꺼낸 순서대로 하므로 느린 outbound 채널이 같은 bin의 다른 방을 막지 않고 프레임 순서가 유지됨
+ */
+@Component
+@Slf4j
+public class ChatMessageCoalescer {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BatchSubscriptionInterceptor batchSubscriptionInterceptor;
+    private final Map<Long, RoomBatch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("chat-coalescer").daemon().factory());
+
+    private final boolean enabled;
+    private final boolean brokerRelayEnabled;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    public ChatMessageCoalescer(SimpMessagingTemplate messagingTemplate,
+                                BatchSubscriptionInterceptor batchSubscriptionInterceptor,
+                                @Value("${app.websocket.coalescing.enabled:true}") boolean enabled,
+                                @Value("${app.websocket.broker-relay.enabled:false}") boolean brokerRelayEnabled,
+                                @Value("${app.websocket.coalescing.window:20ms}") Duration window,
+                                @Value("${app.websocket.coalescing.max-batch:50}") int maxBatch) {
+        this.messagingTemplate = messagingTemplate;
+        this.batchSubscriptionInterceptor = batchSubscriptionInterceptor;
+        this.enabled = enabled;
+        this.brokerRelayEnabled = brokerRelayEnabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+    }
+
+    public void submit(ChatMessageDto message) {
+        Long roomId = message.getRoomId();
+        // relay 모드에서는 구독이 외부 브로커에 있어 구독자 수를 알 수 없으므로 항상 발행
+        if (!enabled || roomId == null || !(brokerRelayEnabled || batchSubscriptionInterceptor.hasBatchSubscribers(roomId))) {
+            return;
+        }
+
+        batches.compute(roomId, (id, batch) -> {
+            RoomBatch current = batch == null ? new RoomBatch() : batch;
+            current.messages.add(message);
+            if (current.messages.size() >= maxBatch) {
+                // 가득 찬 버퍼는 제거하고 발행만 예약 - 이후 예약되는 flush보다 먼저 실행되어 순서 유지
+                List<ChatMessageDto> ready = current.messages;
+                scheduler.execute(() -> publish(roomId, ready));
+                return null;
+            }
+            if (!current.flushScheduled) {
+                current.flushScheduled = true;
+                scheduler.schedule(() -> flush(roomId), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            return current;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    // 방 버퍼를 제거한 뒤 남은 메시지를 내보냄 - 이후 submit은 새 버퍼를 만들고 자기 flush를 예약함
+    private void flush(Long roomId) {
+        RoomBatch batch = batches.remove(roomId);
+        if (batch != null && !batch.messages.isEmpty()) {
+            publish(roomId, batch.messages);
+        }
+    }
+
+    private void publish(Long roomId, List<ChatMessageDto> messages) {
+        try {
+            messagingTemplate.convertAndSend(
+                    BatchSubscriptionInterceptor.ROOM_TOPIC_PREFIX + roomId + BatchSubscriptionInterceptor.BATCH_SUFFIX, messages);
+        } catch (Exception e) {
+            log.error("Error forwarding coalesced chat messages for room {}: {}", roomId, e.getMessage(), e);
+        }
+    }
+
+    // 맵에서 제거된 뒤에는 어떤 스레드도 수정하지 않음
+    private static final class RoomBatch {
+
+        private final List<ChatMessageDto> messages = new ArrayList<>();
+        private boolean flushScheduled;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.websocket;
+
+/**
+ * 세션 전송 버퍼가 한도를 넘었을 때의 처리 방식
+ */
+public enum SendOverflowStrategy {
+    /**
+     * 가장 오래된 프레임부터 버려 한도 안으로 맞춤 (최신 메시지 우선)
+     */
+    DROP_OLDEST,
+    /**
+     * 하트비트, 입장/퇴장 이벤트 등 채팅이 아닌 프레임만 버리고, 그래도 넘치면 연결 종료
+     * 채팅 메시지는 유실하지 않고 재접속 후 REST 조회로 복구하도록 함
+     */
+    DROP_NON_CHAT,
+    /**
+     * 즉시 연결 종료 (Spring 기본 동작과 동일)
+     */
+    DISCONNECT
+}
@@ -0,0 +1,108 @@
+package org.example.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 느린 클라이언트 보호 (WebSocket 전송 데코레이터 팩토리)
+ * 연결마다 세션을 SlowConsumerSessionDecorator로 감싸 STOMP 핸들러에 넘기고, 연결이 닫히면 버퍼와 메트릭을 정리
+ * 소켓 쓰기는 가상 스레드에서 세션별로 처리하므로 느린 쓰기가 플랫폼 스레드를 점유하지 않음
+ * 메트릭은 전체 세션 집계로만 남기고(세션 ID 태그는 연결마다 시계열이 늘어남), 세션별 버퍼 상태는 관리 API로 조회
+ */
+@Component
+@Slf4j
+public class SlowConsumerProtection implements WebSocketHandlerDecoratorFactory {
+
+    private final Executor sendExecutor = new VirtualThreadTaskExecutor("ws-send-");
+    private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Duration sendTimeLimit;
+    @Getter
+    private final DataSize bufferSizeLimit;
+    private final SendOverflowStrategy overflowStrategy;
+    private final Counter droppedCounter;
+    private final Counter disconnectCounter;
+
+    public SlowConsumerProtection(MeterRegistry meterRegistry,
+                                  @Value("${app.websocket.send.time-limit:10s}") Duration sendTimeLimit,
+                                  @Value("${app.websocket.send.buffer-size-limit:512KB}") DataSize bufferSizeLimit,
+                                  @Value("${app.websocket.send.overflow-strategy:DROP_NON_CHAT}") SendOverflowStrategy overflowStrategy) {
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowStrategy = overflowStrategy;
+        this.droppedCounter = Counter.builder("chat.websocket.session.overflow")
+                .tag("strategy", overflowStrategy.name())
+                .tag("action", "drop")
+                .register(meterRegistry);
+        this.disconnectCounter = Counter.builder("chat.websocket.session.overflow")
+                .tag("strategy", overflowStrategy.name())
+                .tag("action", "disconnect")
+                .register(meterRegistry);
+        // 전체 세션 버퍼에 쌓인 프레임/바이트 합계와 가장 많이 밀린 세션의 프레임 수
+        meterRegistry.gauge("chat.websocket.buffered.messages", sessions,
+                s -> s.values().stream().mapToInt(SlowConsumerSessionDecorator::getBufferDepth).sum());
+        meterRegistry.gauge("chat.websocket.buffered.bytes", sessions,
+                s -> s.values().stream().mapToInt(SlowConsumerSessionDecorator::getBufferSize).sum());
+        meterRegistry.gauge("chat.websocket.buffered.messages.max", sessions,
+                s -> s.values().stream().mapToInt(SlowConsumerSessionDecorator::getBufferDepth).max().orElse(0));
+        log.info("WebSocket send limits: time {}, buffer {}, overflow strategy {}",
+                sendTimeLimit, bufferSizeLimit, overflowStrategy);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SlowConsumerSessionDecorator decorated = new SlowConsumerSessionDecorator(
+                        session, sendExecutor, sendTimeLimit.toMillis(), (int) bufferSizeLimit.toBytes(),
+                        overflowStrategy, droppedCounter, disconnectCounter);
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SlowConsumerSessionDecorator decorated = sessions.remove(session.getId());
+                if (decorated != null) {
+                    decorated.release();
+                }
+                super.afterConnectionClosed(decorated != null ? decorated : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 버퍼가 쌓인 세션을 많이 밀린 순으로 최대 limit 개 (느린 클라이언트 확인용)
+     */
+    public List<SessionBuffer> getBufferedSessions(int limit) {
+        return sessions.entrySet().stream()
+                .filter(entry -> entry.getValue().getBufferDepth() > 0)
+                .map(entry -> new SessionBuffer(entry.getKey(), entry.getValue().getBufferDepth(), entry.getValue().getBufferSize()))
+                .sorted(Comparator.comparingInt(SessionBuffer::depth).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public record SessionBuffer(String sessionId, int depth, int bytes) {
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 느린 클라이언트 보호용 세션 데코레이터
+ * sendMessage는 세션 버퍼에 넣고 바로 반환하며, 실제 소켓 쓰기는 세션마다 하나의 전송 작업이 순서대로 처리
+ * 덕분에 한 클라이언트의 느린 쓰기가 clientOutboundChannel 스레드를 붙잡지 않고,
+ * 버퍼가 한도를 넘으면 SendOverflowStrategy에 따라 프레임을 버리거나 연결을 끊음
+ */
+@Slf4j
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    /**
+     * 채팅 메시지 타입을 담는 STOMP 헤더 (DROP_NON_CHAT 판별용)
+     */
+    public static final String CHAT_TYPE_HEADER = "x-chat-type";
+
+    private final Executor sendExecutor;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final SendOverflowStrategy overflowStrategy;
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+    private volatile int bufferSize;
+    private volatile int bufferDepth;
+    private boolean sendScheduled;
+
+    private volatile long sendStartNanos;
+    private volatile boolean closed;
+
+    // 모든 세션이 공유하는 집계 카운터 (세션별 상태는 SlowConsumerProtection.getBufferedSessions로 조회)
+    private final Counter droppedCounter;
+    private final Counter disconnectCounter;
+
+    public SlowConsumerSessionDecorator(WebSocketSession session, Executor sendExecutor,
+                                        long sendTimeLimitMillis, int bufferSizeLimit,
+                                        SendOverflowStrategy overflowStrategy,
+                                        Counter droppedCounter, Counter disconnectCounter) {
+        super(session);
+        this.sendExecutor = sendExecutor;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowStrategy = overflowStrategy;
+        this.droppedCounter = droppedCounter;
+        this.disconnectCounter = disconnectCounter;
+    }
+
+    public int getBufferDepth() {
+        return bufferDepth;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws SessionLimitExceededException {
+        if (closed) {
+            return;
+        }
+
+        // 진행 중인 쓰기가 제한 시간을 넘겼다면 더 쌓지 않고 끊음
+        long startNanos = sendStartNanos;
+        if (startNanos != 0 && System.nanoTime() - startNanos > sendTimeLimitNanos) {
+            limitExceeded("Send time exceeded " + TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos) + " ms");
+        }
+
+        boolean schedule = false;
+        bufferLock.lock();
+        try {
+            buffer.addLast(message);
+            bufferSize += message.getPayloadLength();
+            if (bufferSize > bufferSizeLimit) {
+                handleOverflow();
+            }
+            bufferDepth = buffer.size();
+            if (!sendScheduled) {
+                sendScheduled = true;
+                schedule = true;
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+
+        if (schedule) {
+            sendExecutor.execute(this::flushBuffer);
+        }
+    }
+
+    /**
+     * 연결 종료 시 버퍼를 비움
+     */
+    public void release() {
+        closed = true;
+        bufferLock.lock();
+        try {
+            clearBuffer();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // bufferLock 보유 상태에서 호출
+    private void handleOverflow() throws SessionLimitExceededException {
+        switch (overflowStrategy) {
+            case DROP_OLDEST -> {
+                // 방금 넣은 프레임 하나만 남았다면 한도보다 크더라도 전송
+                while (bufferSize > bufferSizeLimit && buffer.size() > 1) {
+                    drop(buffer.pollFirst());
+                }
+            }
+            case DROP_NON_CHAT -> {
+                Iterator<WebSocketMessage<?>> iterator = buffer.iterator();
+                while (bufferSize > bufferSizeLimit && iterator.hasNext()) {
+                    WebSocketMessage<?> buffered = iterator.next();
+                    if (isNonChatFrame(buffered)) {
+                        iterator.remove();
+                        drop(buffered);
+                    }
+                }
+                if (bufferSize > bufferSizeLimit) {
+                    limitExceeded("Buffer size " + bufferSize + " bytes exceeds the limit with chat frames only");
+                }
+            }
+            case DISCONNECT -> limitExceeded("Buffer size " + bufferSize + " bytes exceeds the limit");
+        }
+    }
+
+    private void drop(WebSocketMessage<?> message) {
+        bufferSize -= message.getPayloadLength();
+        droppedCounter.increment();
+    }
+
+    private void limitExceeded(String reason) throws SessionLimitExceededException {
+        closed = true;
+        disconnectCounter.increment();
+        log.warn("Disconnecting slow WebSocket session {} ({} frames buffered): {}", getId(), bufferDepth, reason);
+        bufferLock.lock();
+        try {
+            clearBuffer();
+        } finally {
+            bufferLock.unlock();
+        }
+        // SubProtocolWebSocketHandler가 받아서 해당 상태 코드로 세션을 닫음
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void clearBuffer() {
+        buffer.clear();
+        bufferSize = 0;
+        bufferDepth = 0;
+    }
+
+    /**
+     * 버퍼가 빌 때까지 순서대로 소켓에 씀 (세션당 동시에 하나만 실행)
+     */
+    private void flushBuffer() {
+        while (true) {
+            WebSocketMessage<?> next;
+            bufferLock.lock();
+            try {
+                next = closed ? null : buffer.pollFirst();
+                if (next == null) {
+                    sendScheduled = false;
+                    return;
+                }
+                bufferSize -= next.getPayloadLength();
+                bufferDepth = buffer.size();
+            } finally {
+                bufferLock.unlock();
+            }
+
+            sendStartNanos = System.nanoTime();
+            try {
+                getDelegate().sendMessage(next);
+            } catch (Exception e) {
+                log.debug("Failed to send to WebSocket session {}, closing: {}", getId(), e.getMessage());
+                closeQuietly();
+                return;
+            } finally {
+                sendStartNanos = 0;
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        bufferLock.lock();
+        try {
+            clearBuffer();
+            sendScheduled = false;
+        } finally {
+            bufferLock.unlock();
+        }
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("Failed to close WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 하트비트, /topic/chat/ 이외의 MESSAGE 프레임, 채팅 타입이 CHAT이 아닌 이벤트 프레임은 버려도 되는 프레임으로 판별
+     * CONNECTED, RECEIPT, ERROR 등 제어 프레임은 유지
+     */
+    static boolean isNonChatFrame(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return false;
+        }
+        String payload = textMessage.getPayload();
+        if (payload.isBlank()) {
+            return true;
+        }
+        if (!payload.startsWith("MESSAGE\n")) {
+            return false;
+        }
+
+        int headerEnd = payload.indexOf("\n\n");
+        String[] headers = (headerEnd < 0 ? payload : payload.substring(0, headerEnd)).split("\n");
+        String destination = null;
+        String chatType = null;
+        for (String header : headers) {
+            if (destination == null && header.startsWith("destination:")) {
+                destination = header.substring("destination:".length());
+            } else if (chatType == null && header.startsWith(CHAT_TYPE_HEADER + ":")) {
+                chatType = header.substring(CHAT_TYPE_HEADER.length() + 1);
+            }
+        }
+
+        if (destination == null || !destination.startsWith(BatchSubscriptionInterceptor.ROOM_TOPIC_PREFIX)) {
+            return true;
+        }
+        return chatType != null && !"CHAT".equals(chatType);
+    }
+}
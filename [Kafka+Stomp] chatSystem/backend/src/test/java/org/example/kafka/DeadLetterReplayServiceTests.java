@@ -0,0 +1,123 @@
+package org.example.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EmbeddedKafka(partitions = 2, topics = {"chat-messages", "chat-messages-dlt", "chat-events", "chat-events-dlt"})
+class DeadLetterReplayServiceTests {
+
+    private final EmbeddedKafkaBroker broker;
+
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+    private DeadLetterReplayService replayService;
+    private Consumer<String, byte[]> chatMessagesConsumer;
+
+    DeadLetterReplayServiceTests(EmbeddedKafkaBroker broker) {
+        this.broker = broker;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> producerProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+
+        Map<String, Object> consumerProps = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        replayService = new DeadLetterReplayService(new DefaultKafkaConsumerFactory<>(consumerProps), kafkaTemplate);
+        ReflectionTestUtils.setField(replayService, "chatMessagesTopic", "chat-messages");
+        ReflectionTestUtils.setField(replayService, "chatEventsTopic", "chat-events");
+
+        Map<String, Object> verifyProps = KafkaTestUtils.consumerProps("replay-verify", "false", broker);
+        chatMessagesConsumer = new DefaultKafkaConsumerFactory<>(verifyProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(chatMessagesConsumer, "chat-messages");
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatMessagesConsumer.close();
+        kafkaTemplate.destroy();
+    }
+
+    @Test
+    void replaysDeadLettersToSourceTopicOnce() {
+        sendToDeadLetterTopic("chat-messages-dlt", "1", "first");
+        sendToDeadLetterTopic("chat-messages-dlt", "2", "second");
+        sendToDeadLetterTopic("chat-messages-dlt", "3", "third");
+
+        // 새 그룹의 첫 호출에서도 DLT 전체를 재처리
+        assertThat(replayService.replay("chat-messages", 100)).isEqualTo(3);
+
+        List<ConsumerRecord<String, byte[]>> replayed = poll(3);
+        assertThat(replayed).extracting(record -> new String(record.value(), StandardCharsets.UTF_8))
+                .containsExactlyInAnyOrder("first", "second", "third");
+        assertThat(replayed).allSatisfy(record -> {
+            assertThat(record.headers().lastHeader(DeadLetterReplayService.REPLAY_HEADER)).isNotNull();
+            assertThat(record.headers().lastHeader("kafka_dlt-exception-message")).isNull();
+            assertThat(record.headers().lastHeader("trace")).isNotNull();
+        });
+
+        // 커밋된 오프셋 이후만 재처리
+        assertThat(replayService.replay("chat-messages", 100)).isZero();
+        sendToDeadLetterTopic("chat-messages-dlt", "1", "fourth");
+        assertThat(replayService.replay("chat-messages", 100)).isEqualTo(1);
+        assertThat(poll(1)).extracting(ConsumerRecord::key).containsExactly("1");
+    }
+
+    @Test
+    void replayStopsAtMaxRecordsAndResumes() {
+        for (int i = 0; i < 5; i++) {
+            sendToDeadLetterTopic("chat-events-dlt", String.valueOf(i), "event-" + i);
+        }
+
+        assertThat(replayService.replay("chat-events", 2)).isEqualTo(2);
+        assertThat(replayService.replay("chat-events", 100)).isEqualTo(3);
+        assertThat(replayService.replay("chat-events", 100)).isZero();
+    }
+
+    private void sendToDeadLetterTopic(String topic, String key, String value) {
+        ProducerRecord<Object, Object> record = new ProducerRecord<>(topic, key, value.getBytes(StandardCharsets.UTF_8));
+        record.headers().add("kafka_dlt-exception-message", "boom".getBytes(StandardCharsets.UTF_8));
+        record.headers().add("trace", "on".getBytes(StandardCharsets.UTF_8));
+        kafkaTemplate.send(record).join();
+    }
+
+    private List<ConsumerRecord<String, byte[]>> poll(int expected) {
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (records.size() < expected && System.nanoTime() < deadline) {
+            chatMessagesConsumer.poll(Duration.ofMillis(200)).forEach(records::add);
+        }
+        return records;
+    }
+}
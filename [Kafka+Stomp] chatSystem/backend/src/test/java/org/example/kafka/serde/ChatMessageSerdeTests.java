@@ -0,0 +1,66 @@
+package org.example.kafka.serde;
+
+import org.example.dto.ChatMessageDto;
+import org.example.model.mongodb.ChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatMessageSerdeTests {
+
+    private final ChatMessageDeserializer deserializer = new ChatMessageDeserializer();
+
+    @Test
+    void binaryRoundTrip() {
+        ChatMessageDto message = ChatMessageDto.builder()
+                .id("665f1c2e9b1d4a3f2c8e7b10")
+                .roomId(300L)
+                .sender("홍길동")
+                .content("안녕하세요 hello")
+                .type(ChatMessage.MessageType.JOIN)
+                .timestamp(LocalDateTime.of(2025, 5, 1, 12, 30, 15, 123_456_789))
+                .build();
+
+        byte[] bytes = serializer("binary").serialize("chat-messages", message);
+
+        assertThat(ChatMessageCodec.isBinary(bytes)).isTrue();
+        assertThat(deserializer.deserialize("chat-messages", bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void binaryRoundTripWithNullFields() {
+        ChatMessageDto message = ChatMessageDto.builder()
+                .roomId(1L)
+                .type(ChatMessage.MessageType.LEAVE)
+                .build();
+
+        byte[] bytes = serializer("binary").serialize("chat-events", message);
+
+        assertThat(deserializer.deserialize("chat-events", bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void readsJsonRecordsDuringMigration() {
+        ChatMessageDto message = ChatMessageDto.builder()
+                .roomId(7L)
+                .sender("kim")
+                .content("{json}")
+                .type(ChatMessage.MessageType.CHAT)
+                .timestamp(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+
+        byte[] bytes = serializer("json").serialize("chat-messages", message);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(deserializer.deserialize("chat-messages", bytes)).isEqualTo(message);
+    }
+
+    private ChatMessageSerializer serializer(String format) {
+        ChatMessageSerializer serializer = new ChatMessageSerializer();
+        serializer.configure(Map.of(ChatMessageSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+}
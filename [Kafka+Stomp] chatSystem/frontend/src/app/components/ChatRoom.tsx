@@ -44,6 +44,8 @@ export function ChatRoom({ room, username, onLeaveRoom }: ChatRoomProps) {
       setIsLoading(true);
       const recentMessages = await chatApi.getRecentMessages(room.id, 50);
       setMessages(recentMessages.reverse()); // 최신 메시지가 아래에 오도록 정렬
+      // 참여하지 않은 방이면 404 - 안 읽은 수만 갱신하지 못할 뿐이므로 무시
+      chatApi.markRoomRead(room.id, username).catch(() => {});
     } catch (error) {
       console.error('메시지 로드에 실패했습니다:', error);
     } finally {
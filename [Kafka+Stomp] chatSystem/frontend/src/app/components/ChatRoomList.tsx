@@ -13,6 +13,7 @@ interface ChatRoomListProps {
 
 export function ChatRoomList({ username, onRoomSelect, selectedRoomId }: ChatRoomListProps) {
   const [rooms, setRooms] = useState<ChatRoom[]>([]);
+  const [unreadCounts, setUnreadCounts] = useState<Record<number, number>>({});
   const [newRoomName, setNewRoomName] = useState('');
   const [isLoading, setIsLoading] = useState(false);
 
@@ -23,8 +24,12 @@ export function ChatRoomList({ username, onRoomSelect, selectedRoomId }: ChatRoo
   const loadRooms = async () => {
     try {
       setIsLoading(true);
-      const roomsList = await chatApi.getAllRooms();
+      const [roomsList, unread] = await Promise.all([
+        chatApi.getAllRooms(),
+        chatApi.getUnreadCounts(username),
+      ]);
       setRooms(roomsList);
+      setUnreadCounts(unread);
     } catch (error) {
       console.error('채팅방 목록을 불러오는데 실패했습니다:', error);
     } finally {
@@ -46,6 +51,7 @@ export function ChatRoomList({ username, onRoomSelect, selectedRoomId }: ChatRoo
   };
 
   const handleRoomClick = (room: ChatRoom) => {
+    setUnreadCounts((prev) => ({ ...prev, [room.id]: 0 }));
     onRoomSelect(room);
   };
 
@@ -85,7 +91,14 @@ export function ChatRoomList({ username, onRoomSelect, selectedRoomId }: ChatRoo
               }`}
               onClick={() => handleRoomClick(room)}
             >
-              <div className="font-medium">{room.roomName}</div>
+              <div className="font-medium flex justify-between items-center">
+                <span>{room.roomName}</span>
+                {unreadCounts[room.id] > 0 && (
+                  <span className="bg-red-500 text-white text-xs rounded-full px-2">
+                    {unreadCounts[room.id] > 99 ? '99+' : unreadCounts[room.id]}
+                  </span>
+                )}
+              </div>
               <div className="text-sm text-gray-500 flex justify-between">
                 <span>{room.participants.length}명 참여 중</span>
                 <span>
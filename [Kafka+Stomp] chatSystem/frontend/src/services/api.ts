@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { ChatRoom, ChatMessage } from '../types';
+import { ChatRoom, ChatMessage, ChatMessagePage, MessageSearchParams } from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -37,9 +37,29 @@ export const chatApi = {
         await api.delete(`/rooms/${roomId}/participants/${username}`);
     },
 
+    // 참여 중인 모든 방의 안 읽은 메시지 수 (방 ID → 개수)
+    getUnreadCounts: async (username: string): Promise<Record<number, number>> => {
+        const response = await api.get(`/rooms/user/${username}/unread`);
+        return response.data;
+    },
+
+    markRoomRead: async (roomId: number, username: string): Promise<void> => {
+        await api.put(`/rooms/${roomId}/participants/${username}/read`);
+    },
+
     // 메시지 관련 API
-    getRoomMessages: async (roomId: number): Promise<ChatMessage[]> => {
-        const response = await api.get(`/messages/${roomId}`);
+    getRoomMessages: async (roomId: number, before?: string, limit: number = 50): Promise<ChatMessagePage> => {
+        const response = await api.get(`/messages/${roomId}`, {
+            params: { before, limit }
+        });
+        return response.data;
+    },
+
+    // from/to는 ISO-8601 LocalDateTime (예: 2025-01-31T09:00:00)
+    searchRoomMessages: async (roomId: number, search: MessageSearchParams, before?: string, limit: number = 50): Promise<ChatMessagePage> => {
+        const response = await api.get(`/messages/${roomId}/search`, {
+            params: { ...search, before, limit }
+        });
         return response.data;
     },
 
@@ -49,8 +49,8 @@ export class WebSocketService {
         
         this.roomId = roomId;
         
-        // 새 방 구독
-        this.client.subscribe(`/topic/chat/${roomId}`, this.handleMessage.bind(this));
+        // 새 방 구독 (x-coalesce: 서버가 짧은 시간 동안 모은 메시지를 배열 프레임으로 전송)
+        this.client.subscribe(`/topic/chat/${roomId}`, this.handleMessage.bind(this), { 'x-coalesce': 'true' });
         
         // 입장 메시지 전송
         this.sendMessage('', MessageType.JOIN);
@@ -108,10 +108,11 @@ export class WebSocketService {
 
     private handleMessage(message: IMessage): void {
         try {
-            const chatMessage: ChatMessage = JSON.parse(message.body);
+            const payload: ChatMessage | ChatMessage[] = JSON.parse(message.body);
+            const chatMessages = Array.isArray(payload) ? payload : [payload];
             
             // 모든 핸들러에게 메시지 전달
-            this.messageHandlers.forEach(handler => handler(chatMessage));
+            chatMessages.forEach(chatMessage => this.messageHandlers.forEach(handler => handler(chatMessage)));
         } catch (error) {
             console.error('Error parsing message:', error);
         }
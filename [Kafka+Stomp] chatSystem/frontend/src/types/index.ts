@@ -6,6 +6,7 @@ export interface ChatRoom {
 }
 
 export interface ChatMessage {
+    id?: string;
     roomId: number;
     sender: string;
     content: string;
@@ -13,8 +14,21 @@ export interface ChatMessage {
     timestamp: string;
 }
 
+export interface ChatMessagePage {
+    messages: ChatMessage[];
+    nextCursor: string | null;
+    hasNext: boolean;
+}
+
 export enum MessageType {
     CHAT = 'CHAT',
     JOIN = 'JOIN',
     LEAVE = 'LEAVE'
+}
+
+export interface MessageSearchParams {
+    q?: string;
+    sender?: string;
+    from?: string;
+    to?: string;
 }
\ No newline at end of file
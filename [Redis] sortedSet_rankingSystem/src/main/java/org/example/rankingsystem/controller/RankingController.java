@@ -1,14 +1,27 @@
 package org.example.rankingsystem.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.rankingsystem.dto.ApproximateRankDto;
+import org.example.rankingsystem.dto.ScoreBulkAddDto;
+import org.example.rankingsystem.dto.ScoreBulkResultDto;
 import org.example.rankingsystem.dto.UserRankDto;
 import org.example.rankingsystem.dto.UserScoreAddDto;
 import org.example.rankingsystem.global.RsData;
 import org.example.rankingsystem.service.RankingService;
+import org.example.rankingsystem.service.ScoreHistogram;
+import org.example.rankingsystem.service.WindowedLeaderboard;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/ranking")
@@ -16,6 +29,9 @@ import java.util.List;
 public class RankingController {
 
     private final RankingService rankingService;
+    private final ScoreHistogram scoreHistogram;
+    private final WindowedLeaderboard windowedLeaderboard;
+    private final ObjectMapper objectMapper;
 
     // 점수 추가
     @PostMapping("/score")
@@ -24,24 +40,128 @@ public class RankingController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    // 점수 일괄 반영 (JSON 배열)
+    @PostMapping("/scores")
+    public ResponseEntity<RsData<ScoreBulkResultDto>> addScores(@RequestBody ScoreBulkAddDto request) {
+        if (request.getScores() == null) {
+            RsData<ScoreBulkResultDto> response = new RsData<>("400", "scores가 비어 있습니다.", null);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        ScoreBulkAddDto.Mode mode = request.getMode() == null ? ScoreBulkAddDto.Mode.SET : request.getMode();
+        ScoreBulkAddDto.Condition condition = request.getCondition() == null ? ScoreBulkAddDto.Condition.NONE : request.getCondition();
+        RsData<ScoreBulkResultDto> response = rankingService.addScores(mode, condition, request.getScores().iterator());
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    // 점수 일괄 반영 (NDJSON 스트림, 한 줄에 {"userId": ..., "score": ...}) - 경기 종료 시 대량 덤프용
+    // 요청 본문을 한 줄씩 읽으며 반영하므로 전체를 메모리에 올리지 않음
+    @PostMapping(value = "/scores/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<RsData<ScoreBulkResultDto>> addScoresStream(
+            @RequestParam(defaultValue = "SET") ScoreBulkAddDto.Mode mode,
+            @RequestParam(defaultValue = "NONE") ScoreBulkAddDto.Condition condition,
+            HttpServletRequest request) throws IOException {
+        try (MappingIterator<UserScoreAddDto> scores = objectMapper.readerFor(UserScoreAddDto.class).readValues(request.getInputStream())) {
+            RsData<ScoreBulkResultDto> response = rankingService.addScores(mode, condition, scores);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+    }
+
     // 유저 랭킹 조회
+    // window(DAY/WEEK/MONTH/SEASON)를 지정하면 기간별 랭킹 - date(yyyy-MM-dd, 기본: 오늘)가 속한 기간, 또는 from ~ to 기간을 aggregate(SUM/MIN/MAX)로 합친 랭킹
     @GetMapping("/user/{userId}")
-    public ResponseEntity<RsData<UserRankDto>> getUserRank(@PathVariable String userId) throws Exception {
-        Long rank = rankingService.getUserRank(userId);
-        Double score = rankingService.getUserScore(userId);
+    public ResponseEntity<RsData<UserRankDto>> getUserRank(
+            @PathVariable String userId,
+            @RequestParam(required = false) WindowedLeaderboard.Window window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "SUM") Aggregate aggregate) throws Exception {
+        List<String> windowKeys;
+        try {
+            windowKeys = window == null ? null : windowedLeaderboard.resolveKeys(window, date, from, to, aggregate);
+        } catch (IllegalArgumentException e) {
+            RsData<UserRankDto> response = new RsData<>("400", e.getMessage(), null);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        // 랭킹과 점수를 한 번의 Redis 왕복으로 함께 조회
+        UserRankDto userRank = (windowKeys == null ? rankingService.getUserRankWithScore(userId) : rankingService.getWindowRankWithScore(windowKeys, userId))
+                .orElseThrow(() -> new Exception("rank or score is null"));
+
+        RsData<UserRankDto> response = new RsData<>("200", "랭킹 조회가 완료되었습니다.", userRank);
+
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
 
-        if (rank == null || score == null) {
-            throw new Exception("rank or score is null");
+    // 유저 근사 랭킹 조회 (상위 몇 %) - 상위 K명 밖이면 히스토그램으로 추정한 랭킹
+    @GetMapping("/user/{userId}/approximate")
+    public ResponseEntity<RsData<ApproximateRankDto>> getApproximateRank(@PathVariable String userId) throws Exception {
+        if (!scoreHistogram.isEnabled()) {
+            RsData<ApproximateRankDto> response = new RsData<>("400", "근사 랭킹 모드가 꺼져 있습니다. (ranking.approximate.enabled)", null);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
         }
 
-        RsData<UserRankDto> response = new RsData<>("200", "랭킹 조회가 완료되었습니다.", UserRankDto.from(rank, userId, score));
+        ApproximateRankDto approximateRank = rankingService.getApproximateRank(userId)
+                .orElseThrow(() -> new Exception("rank or score is null"));
 
+        RsData<ApproximateRankDto> response = new RsData<>("200", "랭킹 조회가 완료되었습니다.", approximateRank);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
-    // 상위 N명 랭킹 조회
+    // 점수 히스토그램 재계산 - 근사 랭킹 모드를 켜기 전부터 있던 유저를 반영할 때 사용
+    @PostMapping("/histogram/rebuild")
+    public ResponseEntity<RsData<Long>> rebuildScoreHistogram() {
+        if (!scoreHistogram.isEnabled()) {
+            RsData<Long> response = new RsData<>("400", "근사 랭킹 모드가 꺼져 있습니다. (ranking.approximate.enabled)", null);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        RsData<Long> response = new RsData<>("200", "점수 히스토그램을 다시 계산했습니다.", rankingService.rebuildScoreHistogram());
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    // 여러 유저 랭킹 일괄 조회 (랭킹에 없는 유저는 결과에서 제외)
+    @GetMapping("/users")
+    public ResponseEntity<RsData<List<UserRankDto>>> getUserRanks(@RequestParam List<String> userIds) {
+        if (userIds.size() > RankingService.MAX_BATCH_LOOKUP) {
+            RsData<List<UserRankDto>> response = new RsData<>("400", "userIds는 최대 " + RankingService.MAX_BATCH_LOOKUP + "개까지 조회할 수 있습니다.", null);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        RsData<List<UserRankDto>> response = new RsData<>("200", "랭킹 조회가 완료되었습니다.", rankingService.getUserRanksWithScores(userIds));
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    // 랭킹 인원 조회 (샤딩 모드면 샤드별 인원)
+    @GetMapping("/size")
+    public ResponseEntity<RsData<Map<String, Long>>> getLeaderboardSizes() {
+        RsData<Map<String, Long>> response = new RsData<>("200", "랭킹 인원 조회가 완료되었습니다.", rankingService.getLeaderboardSizes());
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    // 상위 N명 랭킹 조회 (window, date, from, to, aggregate는 유저 랭킹 조회와 같음)
     @GetMapping("/top")
-    public ResponseEntity<List<UserRankDto>> getTopRank(@RequestParam(defaultValue = "10") int count) throws Exception {
-        return ResponseEntity.ok(rankingService.getTopRank(count));
+    public ResponseEntity<List<UserRankDto>> getTopRank(
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) WindowedLeaderboard.Window window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "SUM") Aggregate aggregate) throws Exception {
+        if (count < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (window == null) {
+            return ResponseEntity.ok(rankingService.getTopRank(count));
+        }
+
+        List<String> windowKeys;
+        try {
+            windowKeys = windowedLeaderboard.resolveKeys(window, date, from, to, aggregate);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rankingService.getWindowTopRank(windowKeys, count));
     }
 }
@@ -0,0 +1,28 @@
+package org.example.rankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class ApproximateRankDto {
+    private long rank;         // exact가 false면 히스토그램으로 추정한 랭킹
+    private boolean exact;     // 상위 K명 안이면 ZREVRANK로 구한 정확한 랭킹
+    private double topPercent; // 상위 몇 %인지 (rank / 전체 인원 * 100)
+    private String userId;
+    private Double score;
+
+    public static ApproximateRankDto from(long rank, boolean exact, long total, String userId, Double score) {
+        return ApproximateRankDto.builder()
+                .rank(rank)
+                .exact(exact)
+                .topPercent(total == 0 ? 0 : rank * 100.0 / total)
+                .userId(userId)
+                .score(score)
+                .build();
+    }
+}
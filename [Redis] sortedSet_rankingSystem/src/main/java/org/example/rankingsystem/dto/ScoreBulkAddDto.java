@@ -0,0 +1,31 @@
+package org.example.rankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class ScoreBulkAddDto {
+    private Mode mode;           // 생략하면 SET
+    private Condition condition; // 생략하면 NONE
+    private List<UserScoreAddDto> scores;
+
+    public enum Mode {
+        SET,       // 점수를 그대로 기록 (ZADD)
+        INCREMENT  // 기존 점수에 더함 (ZINCRBY)
+    }
+
+    // SET 모드에서만 사용 (ZADD 옵션)
+    public enum Condition {
+        NONE,
+        NX, // 랭킹에 없는 유저만 추가
+        GT, // 기존 점수보다 클 때만 갱신 (없으면 추가)
+        LT  // 기존 점수보다 작을 때만 갱신 (없으면 추가)
+    }
+}
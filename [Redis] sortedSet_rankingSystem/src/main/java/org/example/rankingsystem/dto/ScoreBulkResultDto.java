@@ -0,0 +1,22 @@
+package org.example.rankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class ScoreBulkResultDto {
+    private long processed; // 반영한 항목 수
+    private long changed;   // 새로 추가되거나 점수가 바뀐 유저 수 (INCREMENT 모드는 processed와 같음)
+
+    public static ScoreBulkResultDto from(long processed, long changed) {
+        return ScoreBulkResultDto.builder()
+                .processed(processed)
+                .changed(changed)
+                .build();
+    }
+}
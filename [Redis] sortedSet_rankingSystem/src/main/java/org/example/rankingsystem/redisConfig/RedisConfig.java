@@ -2,10 +2,15 @@ package org.example.rankingsystem.redisConfig;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -20,4 +25,41 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    // 랭킹 + 점수를 한 번의 왕복으로 원자적으로 조회하는 Lua 스크립트 (EVALSHA로 실행되고, 캐시에 없을 때만 본문 전송)
+    @Bean
+    public RedisScript<List<Object>> rankWithScoreScript() {
+        return listScript("scripts/rank_with_score.lua");
+    }
+
+    @Bean
+    public RedisScript<List<Object>> ranksWithScoresScript() {
+        return listScript("scripts/ranks_with_scores.lua");
+    }
+
+    // 점수 반영 + 기간별 랭킹 증감분 + 근사 랭킹 히스토그램을 한 스크립트로 갱신 - 점수가 바뀐 유저 수 반환
+    @Bean
+    public RedisScript<Long> addScoresScript() {
+        return RedisScript.of(new ClassPathResource("scripts/add_scores.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> rebuildHistogramScript() {
+        return RedisScript.of(new ClassPathResource("scripts/rebuild_histogram.lua"), Long.class);
+    }
+
+    // 기간별 랭킹: 여러 기간 키를 합친 범위 랭킹 생성 + 만료 설정을 원자적으로 처리
+    @Bean
+    public RedisScript<Long> unionRangeScript() {
+        return RedisScript.of(new ClassPathResource("scripts/union_range.lua"), Long.class);
+    }
+
+    // 배열 응답 스크립트 - 원소는 정수(Long), 문자열, nil(null)이 섞이므로 List<Object>
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Object>> listScript(String path) {
+        DefaultRedisScript<List<Object>> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType((Class<List<Object>>) (Class<?>) List.class);
+        return script;
+    }
 }
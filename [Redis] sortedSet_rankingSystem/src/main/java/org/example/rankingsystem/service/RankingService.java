@@ -1,33 +1,210 @@
 package org.example.rankingsystem.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.rankingsystem.dto.ApproximateRankDto;
+import org.example.rankingsystem.dto.ScoreBulkAddDto;
+import org.example.rankingsystem.dto.ScoreBulkResultDto;
 import org.example.rankingsystem.dto.UserRankDto;
 import org.example.rankingsystem.dto.UserScoreAddDto;
 import org.example.rankingsystem.global.RsData;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
 public class RankingService {
 
-    private static final String RANKING_KEY = "userRanking";
+    static final String RANKING_KEY = "userRanking";
+    public static final int MAX_BATCH_LOOKUP = 1000;
+    private static final int PIPELINE_SIZE = 5000; // 파이프라인 한 번에 보내는 항목 수 (NDJSON 스트림도 이 단위로 메모리에 모음)
+    private static final int ZADD_BATCH_SIZE = 500; // ZADD 명령 하나에 넣는 멤버 수
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<List<Object>> rankWithScoreScript;
+    private final RedisScript<List<Object>> ranksWithScoresScript;
+    private final ShardedLeaderboard shardedLeaderboard;
+    private final ScoreHistogram scoreHistogram;
+    private final RedisScript<Long> addScoresScript;
+    private final WindowedLeaderboard windowedLeaderboard;
+
+    // 유저의 점수가 저장된 ZSET 키 (샤딩 모드면 유저의 샤드)
+    private String keyFor(String userId) {
+        return shardedLeaderboard.isEnabled() ? shardedLeaderboard.shardKey(userId) : RANKING_KEY;
+    }
 
     // 유저 점수 추가 또는 업데이트
     public RsData<UserScoreAddDto> addScore(String userId, double score) {
-        redisTemplate.opsForZSet().add(RANKING_KEY, userId, score); // opsForZSet() 은 ZSetOperations<String, String> 객체를 반환 -> ZSetOperations<String, String> 객체는 Redis 의 Sorted Set 데이터 타입을 다루는데 사용
+        if (scoreHistogram.isEnabled() || windowedLeaderboard.isEnabled()) {
+            flush(ScoreBulkAddDto.Mode.SET, ScoreBulkAddDto.Condition.NONE, List.of(UserScoreAddDto.from(userId, score)));
+            return new RsData<>("200", "점수가 성공적으로 추가되었습니다.", UserScoreAddDto.from(userId, score));
+        }
+        redisTemplate.opsForZSet().add(keyFor(userId), userId, score); // opsForZSet() 은 ZSetOperations<String, String> 객체를 반환 -> ZSetOperations<String, String> 객체는 Redis 의 Sorted Set 데이터 타입을 다루는데 사용
         return new RsData<>("200", "점수가 성공적으로 추가되었습니다.", UserScoreAddDto.from(userId, score));
     }
 
+    // 여러 유저 점수 일괄 반영 - PIPELINE_SIZE 건씩 모아 파이프라인으로 전송 (SET: 다중 멤버 ZADD, INCREMENT: ZINCRBY)
+    // 잘못된 항목을 만나면 그 앞까지만 반영하고 중단 (이미 보낸 파이프라인은 되돌리지 않음)
+    public RsData<ScoreBulkResultDto> addScores(ScoreBulkAddDto.Mode mode, ScoreBulkAddDto.Condition condition, Iterator<UserScoreAddDto> scores) {
+        if (mode == ScoreBulkAddDto.Mode.INCREMENT && condition != ScoreBulkAddDto.Condition.NONE) {
+            return new RsData<>("400", "INCREMENT 모드에서는 condition을 사용할 수 없습니다.", null);
+        }
+
+        long processed = 0;
+        long changed = 0;
+        List<UserScoreAddDto> chunk = new ArrayList<>(PIPELINE_SIZE);
+        while (true) {
+            UserScoreAddDto entry;
+            try {
+                if (!scores.hasNext()) {
+                    break;
+                }
+                entry = scores.next();
+            } catch (RuntimeException e) { // NDJSON 줄을 읽지 못한 경우
+                entry = null;
+            }
+
+            if (entry == null || entry.getUserId() == null || entry.getUserId().isBlank()
+                    || entry.getScore() == null || entry.getScore().isNaN()) {
+                changed += flush(mode, condition, chunk);
+                processed += chunk.size();
+                return new RsData<>("400", (processed + 1) + "번째 항목이 올바르지 않습니다. 앞선 " + processed + "건만 반영되었습니다.",
+                        ScoreBulkResultDto.from(processed, changed));
+            }
+
+            chunk.add(entry);
+            if (chunk.size() == PIPELINE_SIZE) {
+                changed += flush(mode, condition, chunk);
+                processed += chunk.size();
+                chunk.clear();
+            }
+        }
+        changed += flush(mode, condition, chunk);
+        processed += chunk.size();
+
+        return new RsData<>("200", processed + "건의 점수가 반영되었습니다.", ScoreBulkResultDto.from(processed, changed));
+    }
+
+    // 한 번의 파이프라인으로 전송 후 변경된 유저 수 반환 (샤딩 모드면 샤드 키별로 나눠 전송)
+    // 근사 랭킹이나 기간별 랭킹이 켜져 있으면 add_scores.lua로 반영해 히스토그램과 기간 키도 같은 스크립트 안에서 갱신
+    private long flush(ScoreBulkAddDto.Mode mode, ScoreBulkAddDto.Condition condition, List<UserScoreAddDto> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<UserScoreAddDto>> byKey = new LinkedHashMap<>();
+        for (UserScoreAddDto entry : chunk) {
+            byKey.computeIfAbsent(keyFor(entry.getUserId()), key -> new ArrayList<>()).add(entry);
+        }
+
+        if (scoreHistogram.isEnabled() || windowedLeaderboard.isEnabled()) {
+            return flushWithScript(mode, condition, byKey);
+        }
+
+        RedisZSetCommands.ZAddArgs args = zAddArgs(condition);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byKey.forEach((keyName, entries) -> {
+                byte[] key = keyName.getBytes(StandardCharsets.UTF_8);
+                if (mode == ScoreBulkAddDto.Mode.INCREMENT) {
+                    for (UserScoreAddDto entry : entries) {
+                        connection.zSetCommands().zIncrBy(key, entry.getScore(), entry.getUserId().getBytes(StandardCharsets.UTF_8));
+                    }
+                    return;
+                }
+
+                for (int from = 0; from < entries.size(); from += ZADD_BATCH_SIZE) {
+                    Set<Tuple> tuples = new LinkedHashSet<>();
+                    for (UserScoreAddDto entry : entries.subList(from, Math.min(from + ZADD_BATCH_SIZE, entries.size()))) {
+                        tuples.add(Tuple.of(entry.getUserId().getBytes(StandardCharsets.UTF_8), entry.getScore()));
+                    }
+                    connection.zSetCommands().zAdd(key, tuples, args);
+                }
+            });
+            return null;
+        });
+
+        if (mode == ScoreBulkAddDto.Mode.INCREMENT) {
+            return chunk.size(); // ZINCRBY 결과는 새 점수
+        }
+        return results.stream()
+                .mapToLong(result -> ((Number) result).longValue())
+                .sum();
+    }
+
+    // ZADD_BATCH_SIZE 명씩 나눈 add_scores.lua 호출을 파이프라인 한 번으로 전송 - 변경된 유저 수 반환
+    // 스크립트 하나가 전체 랭킹, 히스토그램, 현재 기간 키를 함께 갱신하므로 도중에 실패해도 반영된 유저는 모든 랭킹에 같이 반영됨
+    // 파이프라인 안에서는 NOSCRIPT 응답을 받아 다시 보낼 수 없으므로 EVALSHA가 아닌 EVAL로 본문을 함께 보냄
+    private long flushWithScript(ScoreBulkAddDto.Mode mode, ScoreBulkAddDto.Condition condition, Map<String, List<UserScoreAddDto>> byKey) {
+        List<WindowedLeaderboard.Period> periods = windowedLeaderboard.currentPeriods();
+        byte[] script = addScoresScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byKey.forEach((key, entries) -> {
+                for (int from = 0; from < entries.size(); from += ZADD_BATCH_SIZE) {
+                    List<UserScoreAddDto> batch = entries.subList(from, Math.min(from + ZADD_BATCH_SIZE, entries.size()));
+                    List<String> keysAndArgs = addScoresKeysAndArgs(key, periods, mode, condition, batch);
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2 + periods.size(),
+                            keysAndArgs.stream().map(arg -> arg.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new));
+                }
+            });
+            return null;
+        });
+        return results.stream()
+                .mapToLong(result -> ((Number) result).longValue())
+                .sum();
+    }
+
+    // add_scores.lua의 KEYS(랭킹, 히스토그램, 윈도 키)와 ARGV를 이어 붙인 목록
+    private List<String> addScoresKeysAndArgs(String key, List<WindowedLeaderboard.Period> periods,
+                                              ScoreBulkAddDto.Mode mode, ScoreBulkAddDto.Condition condition, List<UserScoreAddDto> batch) {
+        List<String> keysAndArgs = new ArrayList<>(2 * periods.size() + 7 + batch.size() * 2);
+        keysAndArgs.add(key);
+        keysAndArgs.add(scoreHistogram.histogramKey(key));
+        periods.forEach(period -> keysAndArgs.add(period.key(key)));
+
+        keysAndArgs.add(mode.name());
+        keysAndArgs.add(condition.name());
+        keysAndArgs.addAll(scoreHistogram.scriptArgs());
+        periods.forEach(period -> keysAndArgs.add(String.valueOf(period.expireAt())));
+        for (UserScoreAddDto entry : batch) {
+            keysAndArgs.add(entry.getUserId());
+            keysAndArgs.add(String.valueOf(entry.getScore()));
+        }
+        return keysAndArgs;
+    }
+
+    // CH: 새로 추가된 멤버뿐 아니라 점수가 바뀐 멤버 수까지 반환
+    private RedisZSetCommands.ZAddArgs zAddArgs(ScoreBulkAddDto.Condition condition) {
+        RedisZSetCommands.ZAddArgs args = RedisZSetCommands.ZAddArgs.empty().ch();
+        return switch (condition) {
+            case NONE -> args;
+            case NX -> args.nx();
+            case GT -> args.gt();
+            case LT -> args.lt();
+        };
+    }
+
     // 특정 유저(userId)의 현재 랭킹 조회 (1등부터 시작)
     public Long getUserRank(String userId) {
+        if (shardedLeaderboard.isEnabled()) {
+            return getUserRankWithScore(userId).map(dto -> (long) dto.getRank()).orElse(null);
+        }
         Long rank = redisTemplate.opsForZSet().reverseRank(RANKING_KEY, userId); // 내림차순 정렬 후 조회
         return (rank == null) ? null : rank + 1; // +1을 하는 이유는 0부터 시작하기 때문에 1을 더해줘야 함
         // 4   3   2   1 (rank)
@@ -36,14 +213,106 @@ public class RankingService {
 
     // 특정 유저의 점수 조회
     public Double getUserScore(String userId) {
-        return redisTemplate.opsForZSet().score(RANKING_KEY, userId);
+        return redisTemplate.opsForZSet().score(keyFor(userId), userId);
+    }
+
+    // 특정 유저의 랭킹과 점수를 한 번에 조회 (Lua 스크립트 - 왕복 1회, 두 값이 같은 시점의 상태)
+    public Optional<UserRankDto> getUserRankWithScore(String userId) {
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getUserRanksWithScores(List.of(userId)).stream().findFirst();
+        }
+        return rankWithScore(RANKING_KEY, userId);
+    }
+
+    // 기간별 랭킹에서 유저의 랭킹과 점수 (windowKeys: WindowedLeaderboard.resolveKeys - 샤딩 모드면 샤드별 키)
+    public Optional<UserRankDto> getWindowRankWithScore(List<String> windowKeys, String userId) {
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getUserRanksWithScores(windowKeys, List.of(userId)).stream().findFirst();
+        }
+        return rankWithScore(windowKeys.get(0), userId);
+    }
+
+    private Optional<UserRankDto> rankWithScore(String key, String userId) {
+        List<Object> result = redisTemplate.execute(rankWithScoreScript, Collections.singletonList(key), userId);
+        if (result == null || result.isEmpty()) {
+            return Optional.empty(); // 랭킹에 없는 유저
+        }
+        return Optional.of(toUserRankDto(userId, result.get(0), result.get(1)));
+    }
+
+    // 여러 유저의 랭킹과 점수를 한 번에 조회 (요청 순서 유지, 랭킹에 없는 유저는 제외)
+    public List<UserRankDto> getUserRanksWithScores(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        if (userIds.size() > MAX_BATCH_LOOKUP) {
+            throw new IllegalArgumentException("userIds는 최대 " + MAX_BATCH_LOOKUP + "개까지 조회할 수 있습니다.");
+        }
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getUserRanksWithScores(userIds);
+        }
+
+        List<Object> result = redisTemplate.execute(ranksWithScoresScript, Collections.singletonList(RANKING_KEY), userIds.toArray());
+        List<UserRankDto> ranks = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            Object rank = result.get(2 * i);
+            if (rank != null) { // 랭킹에 없는 유저는 nil
+                ranks.add(toUserRankDto(userIds.get(i), rank, result.get(2 * i + 1)));
+            }
+        }
+        return ranks;
+    }
+
+    // 근사 랭킹 - 점수(ZSCORE, O(1))만 읽고 랭킹은 히스토그램 스냅샷으로 추정, 추정 랭킹이 상위 K 안이면 정확한 랭킹 조회
+    public Optional<ApproximateRankDto> getApproximateRank(String userId) {
+        Double score = getUserScore(userId);
+        if (score == null) {
+            return Optional.empty();
+        }
+
+        ScoreHistogram.Estimate estimate = scoreHistogram.estimate(score);
+        if (estimate.total() > 0 && estimate.rank() > scoreHistogram.getExactTopK()) {
+            return Optional.of(ApproximateRankDto.from(estimate.rank(), false, estimate.total(), userId, score));
+        }
+
+        // 상위권이거나 아직 스냅샷이 없으면 정확한 랭킹
+        return getUserRankWithScore(userId)
+                .map(dto -> ApproximateRankDto.from(dto.getRank(), true, Math.max(estimate.total(), dto.getRank()), userId, dto.getScore()));
+    }
+
+    // 점수 히스토그램 재계산 - 집계한 인원 반환
+    public long rebuildScoreHistogram() {
+        return scoreHistogram.rebuild();
+    }
+
+    // 스크립트 결과: rank는 정수 응답(Long, 0부터 시작), score는 문자열 응답
+    private UserRankDto toUserRankDto(String userId, Object rank, Object score) {
+        return UserRankDto.from(((Number) rank).longValue() + 1, userId, Double.valueOf(score.toString()));
     }
 
     // 상위 N명의 랭킹 조회
     public List<UserRankDto> getTopRank(int topN) throws Exception {
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getTopRank(topN);
+        }
+        return topRank(RANKING_KEY, topN);
+    }
+
+    // 기간별 랭킹의 상위 N명 (windowKeys: WindowedLeaderboard.resolveKeys - 샤딩 모드면 샤드별 키)
+    public List<UserRankDto> getWindowTopRank(List<String> windowKeys, int topN) throws Exception {
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getTopRank(windowKeys, topN);
+        }
+        return topRank(windowKeys.get(0), topN);
+    }
+
+    private List<UserRankDto> topRank(String key, int topN) throws Exception {
+        if (topN < 1) {
+            return List.of(); // ZREVRANGE 0 -1은 전체를 반환하므로
+        }
         Set<ZSetOperations.TypedTuple<String>> topRanks = redisTemplate.opsForZSet() // ZSetOperations.TypedTuple<String>: ZSetOperations 의 결과를 담는 객체 (value, score)
                 // .TypedTuple: Redis 에서 반환된 값과 점수를 포함한 객체
-                .reverseRangeWithScores(RANKING_KEY, 0, topN - 1/*index 라서 1빼는 거임*/); // 내림차순 정렬 후 상위 N명 조회
+                .reverseRangeWithScores(key, 0, topN - 1/*index 라서 1빼는 거임*/); // 내림차순 정렬 후 상위 N명 조회
                 // 100  25   13   4 (score)
                 // 0  1   2   3 (index)
 
@@ -58,4 +327,13 @@ public class RankingService {
         }
         return result;
     }
+
+    // 랭킹 키별 인원 (샤딩 모드면 샤드별)
+    public Map<String, Long> getLeaderboardSizes() {
+        if (shardedLeaderboard.isEnabled()) {
+            return shardedLeaderboard.getShardSizes();
+        }
+        Long size = redisTemplate.opsForZSet().zCard(RANKING_KEY);
+        return Map.of(RANKING_KEY, size == null ? 0 : size);
+    }
 }
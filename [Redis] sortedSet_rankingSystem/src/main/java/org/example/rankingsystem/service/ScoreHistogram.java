@@ -0,0 +1,143 @@
+package org.example.rankingsystem.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 근사 랭킹용 점수 히스토그램
+ * 랭킹 ZSET마다 고정 너비 버킷의 인원 수를 HASH({랭킹 키}:histogram)로 두고, 점수를 반영하는 Lua 스크립트가 같은 호출에서 함께 갱신
+ * 애플리케이션은 refresh-interval마다 히스토그램을 읽어 누적 인원 스냅샷을 만들고, 추정 랭킹은 Redis 호출 없이 O(1)로 계산
+ * 추정 오차는 한 버킷 안의 인원 수 이내 (버킷 안에서는 점수가 고르게 퍼져 있다고 보고 보간)
+ */
+@Component
+@Slf4j
+public class ScoreHistogram {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> rebuildHistogramScript;
+    private final ShardedLeaderboard shardedLeaderboard;
+
+    @Getter
+    private final boolean enabled;
+    private final double minScore;
+    private final double bucketWidth;
+    private final int buckets;
+    @Getter
+    private final long exactTopK;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new long[0], 0);
+
+    public ScoreHistogram(RedisTemplate<String, String> redisTemplate,
+                          RedisScript<Long> rebuildHistogramScript,
+                          ShardedLeaderboard shardedLeaderboard,
+                          @Value("${ranking.approximate.enabled:false}") boolean enabled,
+                          @Value("${ranking.approximate.min-score:0}") double minScore,
+                          @Value("${ranking.approximate.max-score:1000000}") double maxScore,
+                          @Value("${ranking.approximate.buckets:1000}") int buckets,
+                          @Value("${ranking.approximate.exact-top-k:1000}") long exactTopK) {
+        if (buckets < 1 || maxScore <= minScore) {
+            throw new IllegalArgumentException("ranking.approximate: buckets는 1 이상, max-score는 min-score보다 커야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.rebuildHistogramScript = rebuildHistogramScript;
+        this.shardedLeaderboard = shardedLeaderboard;
+        this.enabled = enabled;
+        this.minScore = minScore;
+        this.bucketWidth = (maxScore - minScore) / buckets;
+        this.buckets = buckets;
+        this.exactTopK = exactTopK;
+    }
+
+    // 랭킹 키와 같은 슬롯에 두어 Redis Cluster에서도 한 스크립트로 함께 갱신
+    public String histogramKey(String rankingKey) {
+        return "{" + rankingKey + "}:histogram";
+    }
+
+    // add_scores.lua의 ARGV[3..5] - 꺼져 있으면 버킷 수 0 (히스토그램을 갱신하지 않음)
+    public List<String> scriptArgs() {
+        if (!enabled) {
+            return List.of(String.valueOf(minScore), String.valueOf(bucketWidth), "0");
+        }
+        return List.of(String.valueOf(minScore), String.valueOf(bucketWidth), String.valueOf(buckets));
+    }
+
+    // 스냅샷 기준 추정 랭킹 (1부터) - 스냅샷이 비어 있으면 total이 0
+    public Estimate estimate(double score) {
+        Snapshot current = snapshot;
+        if (current.total() == 0) {
+            return new Estimate(0, 0);
+        }
+
+        int bucket = bucketOf(score);
+        double bucketLow = minScore + bucket * bucketWidth;
+        double fraction = Math.min(Math.max((score - bucketLow) / bucketWidth, 0), 1);
+        long aboveInBucket = Math.round(current.counts()[bucket] * (1 - fraction));
+
+        long rank = current.above()[bucket] + aboveInBucket + 1;
+        return new Estimate(Math.min(rank, current.total()), current.total());
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.approximate.refresh-interval:1s}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        long[] counts = new long[buckets];
+        for (String rankingKey : rankingKeys()) {
+            Map<Object, Object> histogram = redisTemplate.opsForHash().entries(histogramKey(rankingKey));
+            histogram.forEach((bucket, count) -> {
+                int index = Integer.parseInt(bucket.toString());
+                if (index >= 0 && index < buckets) {
+                    counts[index] += Long.parseLong(count.toString());
+                }
+            });
+        }
+
+        // above[b]: b번 버킷보다 높은 버킷의 인원 합
+        long[] above = new long[buckets];
+        long total = 0;
+        for (int bucket = buckets - 1; bucket >= 0; bucket--) {
+            above[bucket] = total;
+            total += counts[bucket];
+        }
+        snapshot = new Snapshot(counts, above, total);
+    }
+
+    // ZSET에서 히스토그램을 다시 계산 (모드를 켜기 전부터 있던 유저 반영) - 집계한 인원 반환
+    public long rebuild() {
+        long total = 0;
+        for (String rankingKey : rankingKeys()) {
+            Long counted = redisTemplate.execute(rebuildHistogramScript, List.of(rankingKey, histogramKey(rankingKey)),
+                    String.valueOf(minScore), String.valueOf(bucketWidth), String.valueOf(buckets));
+            total += counted == null ? 0 : counted;
+        }
+        log.info("Rebuilt score histogram for {} players", total);
+        refresh();
+        return total;
+    }
+
+    private List<String> rankingKeys() {
+        return shardedLeaderboard.isEnabled() ? shardedLeaderboard.getShardKeys() : List.of(RankingService.RANKING_KEY);
+    }
+
+    // 범위를 벗어난 점수는 양 끝 버킷 (Lua 스크립트와 같은 규칙)
+    private int bucketOf(double score) {
+        int bucket = (int) Math.floor((score - minScore) / bucketWidth);
+        return Math.min(Math.max(bucket, 0), buckets - 1);
+    }
+
+    public record Estimate(long rank, long total) {
+    }
+
+    private record Snapshot(long[] counts, long[] above, long total) {
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.rankingsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.example.rankingsystem.dto.UserRankDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 샤딩 랭킹 - userId 해시로 나눈 여러 ZSET(userRanking:shard:0 ~ N-1)에 나눠 저장
+ * 키 하나에 모든 유저를 두면 랭킹 트래픽 전체가 Redis 한 노드/한 코어에 몰리므로, 샤드 키를 클러스터 슬롯 전체에 분산
+ * 유저는 항상 같은 샤드에 있으므로 점수 갱신은 샤드 하나만 건드림
+ * 전체 랭킹 = 자기 샤드 안의 순위 + 다른 샤드에서 점수가 더 높은 유저 수(ZCOUNT) / 상위 N명 = 샤드별 상위 N명의 k-way 병합
+ * 샤드별 명령은 가상 스레드로 동시에 보내므로 샤드 수가 늘어도 지연은 왕복 한두 번 수준
+ * 샤드별 파이프라인은 Lettuce 풀(spring.data.redis.lettuce.pool)에서 빌린 연결로 실행되므로 조회마다 연결을 새로 맺지 않음
+ * 동점자는 같은 샤드 안에서만 순서가 정해지고, 다른 샤드의 동점자와는 앞선 순위를 공유함 (상위 N명 조회와 유저 랭킹 조회가 같은 규칙)
+ */
+@Component
+public class ShardedLeaderboard {
+
+    private static final String SHARD_KEY_PREFIX = "userRanking:shard:";
+
+    // 점수 내림차순, 동점이면 userId 역순 (ZREVRANGE와 같은 순서)
+    private static final Comparator<ShardHead> HEAD_ORDER = Comparator
+            .comparing((ShardHead head) -> head.tuple().getScore(), Comparator.reverseOrder())
+            .thenComparing(head -> head.tuple().getValue(), Comparator.reverseOrder());
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<List<Object>> ranksWithScoresScript;
+
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final List<String> shardKeys;
+
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedLeaderboard(RedisTemplate<String, String> redisTemplate,
+                              RedisScript<List<Object>> ranksWithScoresScript,
+                              @Value("${ranking.sharding.enabled:false}") boolean enabled,
+                              @Value("${ranking.sharding.shards:16}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("ranking.sharding.shards는 1 이상이어야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.ranksWithScoresScript = ranksWithScoresScript;
+        this.enabled = enabled;
+        this.shardKeys = IntStream.range(0, shardCount)
+                .mapToObj(shard -> SHARD_KEY_PREFIX + shard)
+                .toList();
+    }
+
+    // 유저가 속한 샤드 키
+    public String shardKey(String userId) {
+        return shardKeys.get(shardIndex(userId));
+    }
+
+    private int shardIndex(String userId) {
+        return Math.floorMod(userId.hashCode(), shardKeys.size());
+    }
+
+    // 여러 유저의 전체 랭킹과 점수 (요청 순서 유지, 랭킹에 없는 유저는 제외)
+    public List<UserRankDto> getUserRanksWithScores(List<String> userIds) {
+        return getUserRanksWithScores(shardKeys, userIds);
+    }
+
+    /**
+     * keys: 샤드 순서대로 샤드마다 하나씩 둔 랭킹 키 (샤드별 기간 랭킹 키 등) - 유저는 자기 샤드 번호의 키에서 조회
+     */
+    public List<UserRankDto> getUserRanksWithScores(List<String> keys, List<String> userIds) {
+        checkShardAligned(keys);
+        // 1단계: 샤드별로 묶어 자기 샤드 안의 순위와 점수를 조회 (샤드당 스크립트 1회)
+        Map<String, List<String>> usersByShard = userIds.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(userId -> keys.get(shardIndex(userId)), LinkedHashMap::new, Collectors.toList()));
+        List<String> shards = new ArrayList<>(usersByShard.keySet());
+        List<List<Object>> shardResults = fanOut(shards,
+                shardKey -> redisTemplate.execute(ranksWithScoresScript, Collections.singletonList(shardKey), usersByShard.get(shardKey).toArray()));
+
+        Map<String, ShardRank> found = new LinkedHashMap<>();
+        for (int s = 0; s < shards.size(); s++) {
+            List<String> users = usersByShard.get(shards.get(s));
+            List<Object> result = shardResults.get(s);
+            for (int i = 0; i < users.size(); i++) {
+                Object rank = result.get(2 * i);
+                if (rank != null) {
+                    found.put(users.get(i), new ShardRank(users.get(i), shards.get(s),
+                            ((Number) rank).longValue(), Double.parseDouble(result.get(2 * i + 1).toString())));
+                }
+            }
+        }
+        if (found.isEmpty()) {
+            return List.of();
+        }
+
+        // 2단계: 샤드마다 다른 샤드 유저들보다 점수가 높은 인원을 파이프라인으로 셈 (Math.nextUp: score 초과)
+        List<ShardRank> ranks = new ArrayList<>(found.values());
+        List<List<Object>> higherCounts = fanOut(keys, shardKey -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] key = shardKey.getBytes(StandardCharsets.UTF_8);
+            for (ShardRank rank : ranks) {
+                if (!rank.shardKey().equals(shardKey)) {
+                    connection.zSetCommands().zCount(key, Math.nextUp(rank.score()), Double.POSITIVE_INFINITY);
+                }
+            }
+            return null;
+        }));
+
+        long[] higher = new long[ranks.size()];
+        for (int s = 0; s < keys.size(); s++) {
+            Iterator<Object> counts = higherCounts.get(s).iterator();
+            for (int i = 0; i < ranks.size(); i++) {
+                if (!ranks.get(i).shardKey().equals(keys.get(s))) {
+                    higher[i] += ((Number) counts.next()).longValue();
+                }
+            }
+        }
+
+        Map<String, UserRankDto> byUser = new LinkedHashMap<>();
+        for (int i = 0; i < ranks.size(); i++) {
+            ShardRank rank = ranks.get(i);
+            byUser.put(rank.userId(), UserRankDto.from(rank.rankInShard() + higher[i] + 1, rank.userId(), rank.score()));
+        }
+        return userIds.stream()
+                .distinct()
+                .map(byUser::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 상위 N명 - 샤드마다 상위 N명을 받아 점수순으로 병합
+    // 랭킹은 getUserRanksWithScores와 같은 규칙: 자기 샤드에서 앞선 인원 + 다른 샤드에서 점수가 더 높은 인원 + 1
+    public List<UserRankDto> getTopRank(int topN) {
+        return getTopRank(shardKeys, topN);
+    }
+
+    // keys: 샤드 순서대로 샤드마다 하나씩 둔 랭킹 키
+    public List<UserRankDto> getTopRank(List<String> keys, int topN) {
+        checkShardAligned(keys);
+        if (topN < 1) {
+            return List.of();
+        }
+        List<Set<ZSetOperations.TypedTuple<String>>> shardTops = fanOut(keys,
+                shardKey -> redisTemplate.opsForZSet().reverseRangeWithScores(shardKey, 0, topN - 1));
+
+        PriorityQueue<ShardHead> heads = new PriorityQueue<>(HEAD_ORDER);
+        for (int shard = 0; shard < shardTops.size(); shard++) {
+            Set<ZSetOperations.TypedTuple<String>> shardTop = shardTops.get(shard);
+            if (shardTop != null && !shardTop.isEmpty()) {
+                Iterator<ZSetOperations.TypedTuple<String>> rest = shardTop.iterator();
+                heads.add(new ShardHead(shard, rest.next(), rest));
+            }
+        }
+
+        // 점수가 내림차순으로 나오므로, 현재 점수보다 높은 인원은 현재 동점 구간이 시작되기 전까지 나온 인원
+        int[] emitted = new int[keys.size()];
+        int[] emittedBeforeTie = new int[keys.size()];
+        int totalBeforeTie = 0;
+        double tieScore = Double.NaN; // NaN은 어떤 점수와도 같지 않음
+
+        // 동점 구간 안에서는 샤드가 다른 유저끼리 랭킹 순서가 병합 순서와 다를 수 있으므로, N명을 채워도 구간 끝까지 병합한 뒤 랭킹순으로 자름
+        List<UserRankDto> result = new ArrayList<>(topN);
+        while (!heads.isEmpty()) {
+            ShardHead head = heads.peek();
+            double score = head.tuple().getScore();
+            if (result.size() >= topN && score != tieScore) {
+                break;
+            }
+            heads.poll();
+            if (score != tieScore) {
+                tieScore = score;
+                totalBeforeTie = result.size();
+                System.arraycopy(emitted, 0, emittedBeforeTie, 0, emitted.length);
+            }
+
+            int shard = head.shard();
+            int higherInOtherShards = totalBeforeTie - emittedBeforeTie[shard];
+            result.add(new UserRankDto(emitted[shard] + higherInOtherShards + 1, head.tuple().getValue(), score));
+            emitted[shard]++;
+
+            if (head.rest().hasNext()) {
+                heads.add(new ShardHead(shard, head.rest().next(), head.rest()));
+            }
+        }
+
+        result.sort(Comparator.comparingInt(UserRankDto::getRank)); // 안정 정렬 - 같은 랭킹은 병합 순서 유지
+        return result.size() > topN ? result.subList(0, topN) : result;
+    }
+
+    // 샤드별 인원 (ZCARD) - 샤드 간 분포 확인용
+    public Map<String, Long> getShardSizes() {
+        List<Long> sizes = fanOut(shardKeys, shardKey -> redisTemplate.opsForZSet().zCard(shardKey));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < shardKeys.size(); i++) {
+            result.put(shardKeys.get(i), sizes.get(i) == null ? 0 : sizes.get(i));
+        }
+        return result;
+    }
+
+    private void checkShardAligned(List<String> keys) {
+        if (keys.size() != shardKeys.size()) {
+            throw new IllegalArgumentException("샤드마다 키가 하나씩 있어야 합니다. (" + keys.size() + " / " + shardKeys.size() + ")");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    // 키마다 명령을 동시에 실행하고 키 순서대로 결과 반환
+    private <T> List<T> fanOut(List<String> keys, Function<String, T> command) {
+        List<Future<T>> futures = keys.stream()
+                .map(key -> fanOutExecutor.submit(() -> command.apply(key)))
+                .toList();
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("샤드 조회가 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private record ShardRank(String userId, String shardKey, long rankInShard, double score) {
+    }
+
+    private record ShardHead(int shard, ZSetOperations.TypedTuple<String> tuple, Iterator<ZSetOperations.TypedTuple<String>> rest) {
+    }
+}
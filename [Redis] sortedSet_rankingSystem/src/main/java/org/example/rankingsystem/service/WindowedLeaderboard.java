@@ -0,0 +1,190 @@
+package org.example.rankingsystem.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기간별 랭킹 (일간/주간/월간/시즌)
+ * 점수를 반영하는 add_scores.lua가 같은 호출 안에서 전체 기간 점수의 증감분을 현재 기간의 윈도 키에 ZINCRBY로 더하므로
+ * 기간 랭킹은 그 기간에 얻은 점수이고 DB에서 따로 집계할 필요가 없음 (SET으로 절대 점수를 보내도 기간 키에는 차이만 반영)
+ * 기간이 바뀌면 키 이름이 바뀌어 새 랭킹이 자동으로 시작되고, 지난 키는 기간 종료 + 보존 기간 시각에 만료
+ * (EXPIREAT이라 쓰기마다 보내도 만료 시각이 밀리지 않음)
+ * 임의 기간(예: 최근 7일)은 걸치는 기간 키들을 ZUNIONSTORE로 합친 결과를 잠시 캐시해 조회 (union_range.lua로 생성과 만료를 원자적으로 처리)
+ * 윈도 키는 랭킹 키의 해시 태그({userRanking}:day:20261017)를 써서 랭킹 키와 같은 슬롯에 두므로 Redis Cluster에서도 한 스크립트로 함께 갱신
+ * 샤딩 모드면 윈도 키도 샤드마다 따로 두고({userRanking:shard:3}:day:20261017), 조회 결과는 ShardedLeaderboard가 샤드 간 병합
+ */
+@Component
+public class WindowedLeaderboard {
+
+    public enum Window {
+        DAY, WEEK, MONTH, SEASON
+    }
+
+    private static final int MAX_RANGE_PERIODS = 400; // ZUNIONSTORE 한 번에 합치는 최대 키 수
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> unionRangeScript;
+    private final ShardedLeaderboard shardedLeaderboard;
+
+    @Getter
+    private final boolean enabled;
+    private final Set<Window> windows;
+    private final ZoneId zone;
+    private final LocalDate seasonStart;
+    private final int seasonDays;
+    private final Map<Window, Integer> retentionDays = new EnumMap<>(Window.class);
+    private final long rangeCacheSeconds;
+
+    public WindowedLeaderboard(RedisTemplate<String, String> redisTemplate,
+                               RedisScript<Long> unionRangeScript,
+                               ShardedLeaderboard shardedLeaderboard,
+                               @Value("${ranking.windows.enabled:false}") boolean enabled,
+                               @Value("${ranking.windows.types:DAY,WEEK,MONTH,SEASON}") List<Window> windows,
+                               @Value("${ranking.windows.zone:Asia/Seoul}") String zone,
+                               @Value("${ranking.windows.season.start:2026-01-01}") String seasonStart,
+                               @Value("${ranking.windows.season.days:91}") int seasonDays,
+                               @Value("${ranking.windows.retention-days.day:35}") int dayRetention,
+                               @Value("${ranking.windows.retention-days.week:91}") int weekRetention,
+                               @Value("${ranking.windows.retention-days.month:366}") int monthRetention,
+                               @Value("${ranking.windows.retention-days.season:366}") int seasonRetention,
+                               @Value("${ranking.windows.range-cache-seconds:60}") long rangeCacheSeconds) {
+        if (seasonDays < 1 || rangeCacheSeconds < 1
+                || dayRetention < 0 || weekRetention < 0 || monthRetention < 0 || seasonRetention < 0) {
+            throw new IllegalArgumentException("ranking.windows: season.days와 range-cache-seconds는 1 이상, retention-days는 0 이상이어야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.unionRangeScript = unionRangeScript;
+        this.shardedLeaderboard = shardedLeaderboard;
+        this.enabled = enabled;
+        this.windows = windows.isEmpty() ? EnumSet.noneOf(Window.class) : EnumSet.copyOf(windows);
+        this.zone = ZoneId.of(zone);
+        this.seasonStart = LocalDate.parse(seasonStart);
+        this.seasonDays = seasonDays;
+        this.retentionDays.put(Window.DAY, dayRetention);
+        this.retentionDays.put(Window.WEEK, weekRetention);
+        this.retentionDays.put(Window.MONTH, monthRetention);
+        this.retentionDays.put(Window.SEASON, seasonRetention);
+        this.rangeCacheSeconds = rangeCacheSeconds;
+    }
+
+    // 점수를 함께 반영할 현재 기간들 (꺼져 있으면 빈 목록)
+    public List<Period> currentPeriods() {
+        if (!enabled) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now(zone);
+        return windows.stream()
+                .map(window -> period(window, today))
+                .toList();
+    }
+
+    /**
+     * 조회할 윈도 키 - 랭킹 키마다 하나 (샤딩 모드면 ShardedLeaderboard.getShardKeys() 순서, 아니면 하나)
+     * from/to가 없으면 date(기본: 오늘)가 속한 기간의 키, 있으면 from ~ to에 걸치는 기간 키들을 aggregate로 합친 키
+     */
+    public List<String> resolveKeys(Window window, LocalDate date, LocalDate from, LocalDate to, Aggregate aggregate) {
+        if (!enabled || !windows.contains(window)) {
+            throw new IllegalArgumentException(window + " 랭킹이 꺼져 있습니다. (ranking.windows)");
+        }
+        if (from == null && to == null) {
+            Period period = period(window, date == null ? LocalDate.now(zone) : date);
+            return rankingKeys().stream()
+                    .map(period::key)
+                    .toList();
+        }
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("from과 to는 함께 지정해야 하며 from이 to보다 늦을 수 없습니다.");
+        }
+
+        List<Period> periods = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); ) {
+            Period period = period(window, day);
+            periods.add(period);
+            if (periods.size() > MAX_RANGE_PERIODS) {
+                throw new IllegalArgumentException("기간은 최대 " + MAX_RANGE_PERIODS + "개까지 합칠 수 있습니다.");
+            }
+            day = period.end();
+        }
+
+        List<String> result = new ArrayList<>();
+        for (String rankingKey : rankingKeys()) {
+            if (periods.size() == 1) {
+                result.add(periods.get(0).key(rankingKey));
+                continue;
+            }
+
+            // 같은 범위는 range-cache-seconds 동안 재사용 (오늘이 포함되면 그만큼 늦게 반영됨)
+            String rangeKey = keyPrefix(rankingKey, window) + "range:" + from.format(DAY_FORMAT) + "-" + to.format(DAY_FORMAT) + ":" + aggregate;
+            List<String> scriptKeys = new ArrayList<>(periods.size() + 1);
+            scriptKeys.add(rangeKey);
+            periods.forEach(period -> scriptKeys.add(period.key(rankingKey)));
+            redisTemplate.execute(unionRangeScript, scriptKeys, aggregate.name(), String.valueOf(rangeCacheSeconds));
+            result.add(rangeKey);
+        }
+        return result;
+    }
+
+    // date가 속한 기간 (주는 월요일 시작, 시즌은 season.start부터 season.days일 단위)
+    Period period(Window window, LocalDate date) {
+        return switch (window) {
+            case DAY -> period(window, date.format(DAY_FORMAT), date, date.plusDays(1));
+            case WEEK -> {
+                LocalDate monday = date.with(DayOfWeek.MONDAY);
+                String week = String.format("%d-W%02d", monday.get(IsoFields.WEEK_BASED_YEAR), monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+                yield period(window, week, monday, monday.plusWeeks(1));
+            }
+            case MONTH -> {
+                LocalDate first = date.withDayOfMonth(1);
+                yield period(window, first.format(MONTH_FORMAT), first, first.plusMonths(1));
+            }
+            case SEASON -> {
+                long season = Math.floorDiv(ChronoUnit.DAYS.between(seasonStart, date), seasonDays);
+                LocalDate start = seasonStart.plusDays(season * seasonDays);
+                yield period(window, String.valueOf(season + 1), start, start.plusDays(seasonDays));
+            }
+        };
+    }
+
+    private Period period(Window window, String id, LocalDate start, LocalDate end) {
+        long expireAt = end.plusDays(retentionDays.get(window)).atStartOfDay(zone).toEpochSecond();
+        return new Period(window, id, start, end, expireAt);
+    }
+
+    private List<String> rankingKeys() {
+        return shardedLeaderboard.isEnabled() ? shardedLeaderboard.getShardKeys() : List.of(RankingService.RANKING_KEY);
+    }
+
+    // 랭킹 키와 같은 슬롯에 두어 점수 반영 스크립트가 함께 갱신
+    private static String keyPrefix(String rankingKey, Window window) {
+        return "{" + rankingKey + "}:" + window.name().toLowerCase(Locale.ROOT) + ":";
+    }
+
+    // end는 다음 기간의 시작일, expireAt은 키 만료 시각 (epoch 초)
+    public record Period(Window window, String id, LocalDate start, LocalDate end, long expireAt) {
+
+        // rankingKey(전체 랭킹 또는 샤드 키)의 이 기간 윈도 키
+        public String key(String rankingKey) {
+            return keyPrefix(rankingKey, window) + id;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+-- 점수 반영 - 같은 호출 안에서 기간별 랭킹에 증감분을 더하고 근사 랭킹 모드면 점수 히스토그램도 함께 갱신
+-- KEYS[1]: 랭킹 ZSET, KEYS[2]: 점수 히스토그램 HASH (버킷 번호 -> 인원), KEYS[3..]: 현재 기간의 윈도 ZSET
+--          (모두 랭킹 키의 해시 태그를 써서 같은 슬롯)
+-- ARGV[1]: SET | INCREMENT, ARGV[2]: NONE | NX | GT | LT (SET에서만 사용)
+-- ARGV[3]: 히스토그램 최소 점수, ARGV[4]: 버킷 너비, ARGV[5]: 버킷 수 (0이면 히스토그램을 갱신하지 않음)
+-- ARGV[6 .. 5 + 윈도 키 수]: 윈도 키별 만료 시각 (EXPIREAT, epoch 초)
+-- 이후: userId, score 쌍
+-- 반환: 점수가 바뀐 유저 수
+local mode, condition = ARGV[1], ARGV[2]
+local minScore, width, buckets = tonumber(ARGV[3]), tonumber(ARGV[4]), tonumber(ARGV[5])
+local windowCount = #KEYS - 2
+local firstPair = 6 + windowCount
+
+-- 범위를 벗어난 점수는 양 끝 버킷에 넣음
+local function bucketOf(score)
+    local bucket = math.floor((score - minScore) / width)
+    if bucket < 0 then
+        return 0
+    end
+    if bucket >= buckets then
+        return buckets - 1
+    end
+    return bucket
+end
+
+local changedCount = 0
+for i = firstPair, #ARGV, 2 do
+    local member, score = ARGV[i], ARGV[i + 1]
+    -- 없는 멤버의 ZSCORE는 false
+    local oldScore = redis.call('ZSCORE', KEYS[1], member)
+    local old = nil
+    if oldScore then
+        old = tonumber(oldScore)
+    end
+
+    local new
+    if mode == 'INCREMENT' then
+        new = tonumber(redis.call('ZINCRBY', KEYS[1], score, member))
+    elseif old == nil
+            or condition == 'NONE'
+            or (condition == 'GT' and tonumber(score) > old)
+            or (condition == 'LT' and tonumber(score) < old) then
+        redis.call('ZADD', KEYS[1], score, member)
+        new = tonumber(score)
+    end
+
+    if new ~= nil and new ~= old then
+        changedCount = changedCount + 1
+
+        if buckets > 0 then
+            if old ~= nil then
+                redis.call('HINCRBY', KEYS[2], bucketOf(old), -1)
+            end
+            redis.call('HINCRBY', KEYS[2], bucketOf(new), 1)
+        end
+
+        -- 윈도 키에는 증감분 - Lua 숫자를 그대로 넘기면 14자리로 잘리므로 17자리 문자열로 전달
+        local delta = score
+        if mode ~= 'INCREMENT' and old ~= nil then
+            delta = string.format('%.17g', new - old)
+        end
+        for w = 1, windowCount do
+            redis.call('ZINCRBY', KEYS[2 + w], delta, member)
+        end
+    end
+end
+
+if changedCount > 0 then
+    for w = 1, windowCount do
+        redis.call('EXPIREAT', KEYS[2 + w], ARGV[5 + w])
+    end
+end
+return changedCount
@@ -0,0 +1,8 @@
+-- 한 유저의 (랭킹, 점수)를 같은 시점에 조회
+-- KEYS[1]: 랭킹 ZSET, ARGV[1]: userId
+-- 반환: {0부터 시작하는 내림차순 rank, score} / 랭킹에 없으면 nil
+local rank = redis.call('ZREVRANK', KEYS[1], ARGV[1])
+if not rank then
+    return nil
+end
+return {rank, redis.call('ZSCORE', KEYS[1], ARGV[1])}
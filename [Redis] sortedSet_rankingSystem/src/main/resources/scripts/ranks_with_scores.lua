@@ -0,0 +1,15 @@
+-- 여러 유저의 (랭킹, 점수)를 같은 시점에 조회
+-- KEYS[1]: 랭킹 ZSET, ARGV: userId 목록
+-- 반환: ARGV 순서대로 rank, score를 이어 붙인 배열 (랭킹에 없는 유저는 false, false -> nil)
+local result = {}
+for i, userId in ipairs(ARGV) do
+    local rank = redis.call('ZREVRANK', KEYS[1], userId)
+    if rank then
+        result[2 * i - 1] = rank
+        result[2 * i] = redis.call('ZSCORE', KEYS[1], userId)
+    else
+        result[2 * i - 1] = false
+        result[2 * i] = false
+    end
+end
+return result
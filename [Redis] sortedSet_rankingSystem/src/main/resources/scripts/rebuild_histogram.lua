@@ -0,0 +1,27 @@
+-- 랭킹 ZSET에서 점수 히스토그램을 다시 계산 (근사 랭킹 모드를 켜기 전부터 있던 유저 반영, 어긋난 값 복구)
+-- KEYS[1]: 랭킹 ZSET, KEYS[2]: 점수 히스토그램 HASH
+-- ARGV[1]: 히스토그램 최소 점수, ARGV[2]: 버킷 너비, ARGV[3]: 버킷 수
+-- 버킷마다 ZCOUNT(O(log N)) 한 번이므로 ZSET 크기와 무관하게 버킷 수에 비례
+-- 반환: 집계한 전체 인원
+local minScore, width, buckets = tonumber(ARGV[1]), tonumber(ARGV[2]), tonumber(ARGV[3])
+
+redis.call('DEL', KEYS[2])
+local total = 0
+for bucket = 0, buckets - 1 do
+    -- 양 끝 버킷은 범위를 벗어난 점수까지 포함 (add_scores.lua와 같은 규칙)
+    local low = '-inf'
+    if bucket > 0 then
+        low = tostring(minScore + bucket * width)
+    end
+    local high = '+inf'
+    if bucket < buckets - 1 then
+        high = '(' .. tostring(minScore + (bucket + 1) * width)
+    end
+
+    local count = redis.call('ZCOUNT', KEYS[1], low, high)
+    if count > 0 then
+        redis.call('HSET', KEYS[2], bucket, count)
+        total = total + count
+    end
+end
+return total
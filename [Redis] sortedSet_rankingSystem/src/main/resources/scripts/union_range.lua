@@ -0,0 +1,19 @@
+-- 기간별 랭킹 키들을 합친 범위 랭킹을 만들고 만료 시간 설정 (이미 있으면 그대로 사용)
+-- KEYS[1]: 결과 ZSET, KEYS[2..]: 합칠 기간 키 (모두 같은 해시 태그)
+-- ARGV[1]: SUM | MIN | MAX, ARGV[2]: 결과 캐시 시간(초)
+-- 확인-생성-만료가 한 스크립트 안에서 실행되므로 동시 요청이 다시 만들지 않고, 만료 없는 결과 키가 남지 않음
+-- 반환: 새로 만들었으면 1, 캐시된 결과를 썼으면 0
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+local args = {KEYS[1], #KEYS - 1}
+for i = 2, #KEYS do
+    args[#args + 1] = KEYS[i]
+end
+args[#args + 1] = 'AGGREGATE'
+args[#args + 1] = ARGV[1]
+
+redis.call('ZUNIONSTORE', unpack(args))
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return 1
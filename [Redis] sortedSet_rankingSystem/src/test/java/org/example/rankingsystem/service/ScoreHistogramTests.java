@@ -0,0 +1,127 @@
+package org.example.rankingsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreHistogramTests {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisScript<Long> rebuildHistogramScript;
+
+    @Mock
+    private ShardedLeaderboard shardedLeaderboard;
+
+    // 0 ~ 100점, 너비 10점짜리 버킷 10개
+    private ScoreHistogram scoreHistogram(boolean enabled) {
+        return new ScoreHistogram(redisTemplate, rebuildHistogramScript, shardedLeaderboard, enabled, 0, 100, 10, 1000);
+    }
+
+    private ScoreHistogram refreshed(Map<Object, Object> histogram) {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("{userRanking}:histogram")).thenReturn(histogram);
+        ScoreHistogram scoreHistogram = scoreHistogram(true);
+        scoreHistogram.refresh();
+        return scoreHistogram;
+    }
+
+    @Test
+    void estimateIsEmptyBeforeRefresh() {
+        ScoreHistogram.Estimate estimate = scoreHistogram(true).estimate(50);
+
+        assertThat(estimate.rank()).isZero();
+        assertThat(estimate.total()).isZero();
+    }
+
+    @Test
+    void disabledRefreshDoesNotReadRedis() {
+        ScoreHistogram scoreHistogram = scoreHistogram(false);
+        scoreHistogram.refresh();
+
+        verifyNoInteractions(redisTemplate);
+        assertThat(scoreHistogram.estimate(50).total()).isZero();
+    }
+
+    @Test
+    void bucketBoundaryCountsWholeBucketAsAbove() {
+        // 90~100: 2명, 50~60: 4명, 0~10: 3명
+        ScoreHistogram scoreHistogram = refreshed(Map.of("9", "2", "5", "4", "0", "3"));
+
+        // 90점은 9번 버킷의 하한이라 그 버킷 2명이 모두 위
+        assertThat(scoreHistogram.estimate(90)).isEqualTo(new ScoreHistogram.Estimate(3, 9));
+        // 바로 아래 빈 버킷도 같은 랭킹
+        assertThat(scoreHistogram.estimate(89.99)).isEqualTo(new ScoreHistogram.Estimate(3, 9));
+        // 버킷 중간은 보간
+        assertThat(scoreHistogram.estimate(95)).isEqualTo(new ScoreHistogram.Estimate(2, 9));
+        assertThat(scoreHistogram.estimate(50)).isEqualTo(new ScoreHistogram.Estimate(7, 9));
+    }
+
+    @Test
+    void outOfRangeScoresClampToEndBuckets() {
+        ScoreHistogram scoreHistogram = refreshed(Map.of("9", "2", "5", "4", "0", "3"));
+
+        // 최고 버킷 상한 이상은 1등
+        assertThat(scoreHistogram.estimate(100)).isEqualTo(new ScoreHistogram.Estimate(1, 9));
+        assertThat(scoreHistogram.estimate(1_000_000)).isEqualTo(new ScoreHistogram.Estimate(1, 9));
+        // 최저 버킷 하한 미만은 total을 넘지 않음
+        assertThat(scoreHistogram.estimate(0)).isEqualTo(new ScoreHistogram.Estimate(9, 9));
+        assertThat(scoreHistogram.estimate(-50)).isEqualTo(new ScoreHistogram.Estimate(9, 9));
+    }
+
+    @Test
+    void refreshIgnoresUnknownBuckets() {
+        ScoreHistogram scoreHistogram = refreshed(Map.of("-1", "5", "10", "7", "3", "1"));
+
+        assertThat(scoreHistogram.estimate(30)).isEqualTo(new ScoreHistogram.Estimate(1, 1));
+    }
+
+    @Test
+    void refreshSumsEveryShard() {
+        when(shardedLeaderboard.isEnabled()).thenReturn(true);
+        when(shardedLeaderboard.getShardKeys()).thenReturn(List.of("userRanking:0", "userRanking:1"));
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("{userRanking:0}:histogram")).thenReturn(Map.of("9", "1", "2", "2"));
+        when(hashOperations.entries("{userRanking:1}:histogram")).thenReturn(Map.of("9", "3"));
+
+        ScoreHistogram scoreHistogram = scoreHistogram(true);
+        scoreHistogram.refresh();
+
+        assertThat(scoreHistogram.estimate(90)).isEqualTo(new ScoreHistogram.Estimate(5, 6));
+        assertThat(scoreHistogram.estimate(50)).isEqualTo(new ScoreHistogram.Estimate(5, 6));
+    }
+
+    @Test
+    void scriptArgsMatchBucketLayout() {
+        ScoreHistogram scoreHistogram = scoreHistogram(true);
+
+        assertThat(scoreHistogram.histogramKey("userRanking")).isEqualTo("{userRanking}:histogram");
+        assertThat(scoreHistogram.scriptArgs()).containsExactly("0.0", "10.0", "10");
+    }
+
+    @Test
+    void rejectsInvalidBucketLayout() {
+        assertThatThrownBy(() -> new ScoreHistogram(redisTemplate, rebuildHistogramScript, shardedLeaderboard, true, 100, 100, 10, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScoreHistogram(redisTemplate, rebuildHistogramScript, shardedLeaderboard, true, 0, 100, 0, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
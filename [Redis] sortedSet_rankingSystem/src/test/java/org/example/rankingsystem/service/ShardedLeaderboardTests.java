@@ -0,0 +1,264 @@
+package org.example.rankingsystem.service;
+
+import org.example.rankingsystem.dto.UserRankDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * 샤드 ZSET을 메모리에 두고 ZREVRANGE / ranks_with_scores.lua / ZCOUNT 응답을 흉내 내 병합과 랭킹 규칙만 검증
+ */
+@ExtendWith(MockitoExtension.class)
+class ShardedLeaderboardTests {
+
+    // ZREVRANGE 순서: 점수 내림차순, 동점이면 멤버 역순
+    private static final Comparator<Map.Entry<String, Double>> REV_ORDER = Comparator
+            .comparing((Map.Entry<String, Double> entry) -> entry.getValue(), Comparator.reverseOrder())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RedisScript<List<Object>> ranksWithScoresScript;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisZSetCommands zSetCommands;
+
+    private final Map<String, Map<String, Double>> shards = new HashMap<>();
+    // 샤드별 파이프라인이 가상 스레드에서 동시에 실행되므로 스레드마다 따로 모음
+    private final ThreadLocal<List<Long>> pipelinedCounts = ThreadLocal.withInitial(ArrayList::new);
+
+    private ShardedLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new ShardedLeaderboard(redisTemplate, ranksWithScoresScript, true, 4);
+
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(zSetOperations.reverseRangeWithScores(anyString(), eq(0L), anyLong())).thenAnswer(invocation -> {
+            List<Map.Entry<String, Double>> sorted = sorted(invocation.getArgument(0));
+            int end = (int) Math.min((long) invocation.getArgument(2), sorted.size() - 1);
+            Set<ZSetOperations.TypedTuple<String>> range = new LinkedHashSet<>();
+            for (int i = 0; i <= end; i++) {
+                range.add(new DefaultTypedTuple<>(sorted.get(i).getKey(), sorted.get(i).getValue()));
+            }
+            return range;
+        });
+
+        // ranks_with_scores.lua: 유저마다 {ZREVRANK, ZSCORE 문자열}
+        lenient().when(redisTemplate.execute(eq(ranksWithScoresScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            List<Map.Entry<String, Double>> sorted = sorted(keys.get(0));
+            List<Object> result = new ArrayList<>();
+            for (Object userId : (Object[]) invocation.getRawArguments()[2]) {
+                int rank = indexOf(sorted, userId.toString());
+                result.add(rank < 0 ? null : (long) rank);
+                result.add(rank < 0 ? null : String.valueOf(sorted.get(rank).getValue()));
+            }
+            return result;
+        });
+
+        // 파이프라인: 콜백이 보낸 ZCOUNT 결과를 순서대로 반환
+        lenient().when(connection.zSetCommands()).thenReturn(zSetCommands);
+        lenient().when(zSetCommands.zCount(any(byte[].class), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            String key = new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8);
+            double min = invocation.getArgument(1);
+            double max = invocation.getArgument(2);
+            long count = shards.getOrDefault(key, Map.of()).values().stream()
+                    .filter(score -> score >= min && score <= max)
+                    .count();
+            pipelinedCounts.get().add(count);
+            return null;
+        });
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            pipelinedCounts.remove();
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return new ArrayList<Object>(pipelinedCounts.get());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboard.shutdown();
+    }
+
+    @Test
+    void crossShardTiesShareRankAtCutoff() {
+        String a = put(0, "a", 100);
+        String b = put(0, "b", 50);
+        String c = put(1, "c", 100);
+        String d = put(1, "d", 50);
+        put(2, "e", 10);
+
+        List<UserRankDto> top = leaderboard.getTopRank(3);
+
+        assertThat(top).extracting(UserRankDto::getRank).containsExactly(1, 1, 3);
+        assertThat(top.subList(0, 2)).extracting(UserRankDto::getUserId).containsExactlyInAnyOrder(a, c);
+        // 동점 구간은 끝까지 병합한 뒤 자르므로 3위는 b, d 중 누구든 3위
+        assertThat(top.get(2).getUserId()).isIn(b, d);
+        assertThat(ranksOf(List.of(b, d))).containsEntry(b, 3).containsEntry(d, 3);
+    }
+
+    @Test
+    void tiesWithinOneShardFollowShardOrder() {
+        String first = put(0, "z", 70);
+        String second = put(0, "y", 70);
+        String other = put(1, "x", 70);
+
+        List<UserRankDto> top = leaderboard.getTopRank(3);
+
+        // 같은 샤드 안의 동점은 ZREVRANGE 순서대로 1, 2위, 다른 샤드의 동점자는 앞선 순위 공유
+        Map<String, Integer> ranks = top.stream().collect(Collectors.toMap(UserRankDto::getUserId, UserRankDto::getRank));
+        assertThat(ranks.get(other)).isEqualTo(1);
+        assertThat(ranks.get(first)).isNotEqualTo(ranks.get(second));
+        assertThat(ranksOf(List.of(first, second, other))).isEqualTo(ranks);
+    }
+
+    @Test
+    void shardsRunningOutEarly() {
+        put(0, "solo", 5);
+        for (int i = 0; i < 5; i++) {
+            put(1, "u" + i, 100 - i);
+        }
+
+        List<UserRankDto> top = leaderboard.getTopRank(4);
+
+        assertThat(top).extracting(UserRankDto::getRank).containsExactly(1, 2, 3, 4);
+        assertThat(top).extracting(UserRankDto::getScore).containsExactly(100.0, 99.0, 98.0, 97.0);
+        assertThat(leaderboard.getTopRank(6)).extracting(UserRankDto::getScore)
+                .containsExactly(100.0, 99.0, 98.0, 97.0, 96.0, 5.0);
+    }
+
+    @Test
+    void topNLargerThanPopulation() {
+        put(0, "a", 3);
+        put(2, "b", 2);
+        put(3, "c", 1);
+
+        assertThat(leaderboard.getTopRank(100)).extracting(UserRankDto::getRank).containsExactly(1, 2, 3);
+        assertThat(leaderboard.getTopRank(0)).isEmpty();
+    }
+
+    @Test
+    void emptyLeaderboard() {
+        assertThat(leaderboard.getTopRank(10)).isEmpty();
+        assertThat(leaderboard.getUserRanksWithScores(List.of("nobody"))).isEmpty();
+    }
+
+    @Test
+    void userLookupKeepsRequestOrderAndSkipsUnknownUsers() {
+        String low = put(0, "low", 1);
+        String high = put(3, "high", 9);
+
+        List<UserRankDto> ranks = leaderboard.getUserRanksWithScores(List.of(low, "nobody", high, low));
+
+        assertThat(ranks).extracting(UserRankDto::getUserId).containsExactly(low, high);
+        assertThat(ranks).extracting(UserRankDto::getRank).containsExactly(2, 1);
+    }
+
+    @Test
+    void topRanksAgreeWithUserRanks() {
+        // 점수 종류를 적게 해 샤드 안팎의 동점을 많이 만듦
+        Random random = new Random(42);
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            users.add(put(random.nextInt(4), "p" + i, random.nextInt(8) * 10));
+        }
+
+        List<UserRankDto> top = leaderboard.getTopRank(users.size());
+        assertThat(top).hasSize(users.size());
+        assertThat(top).extracting(UserRankDto::getRank).isSorted();
+        assertThat(top).extracting(UserRankDto::getScore).isSortedAccordingTo(Comparator.reverseOrder());
+
+        Map<String, Integer> topRanks = top.stream().collect(Collectors.toMap(UserRankDto::getUserId, UserRankDto::getRank));
+        assertThat(ranksOf(users)).isEqualTo(topRanks);
+
+        // 잘린 상위 N명도 같은 랭킹
+        for (UserRankDto dto : leaderboard.getTopRank(17)) {
+            assertThat(dto.getRank()).isEqualTo(topRanks.get(dto.getUserId()));
+        }
+    }
+
+    @Test
+    void perShardKeysFollowUserShard() {
+        // 샤드별 기간 랭킹 키처럼 샤드마다 다른 키를 넘기면 유저는 자기 샤드 번호의 키에서 조회
+        String high = put(1, "high", 0);
+        String low = put(2, "low", 0);
+        List<String> windowKeys = leaderboard.getShardKeys().stream().map(key -> "{" + key + "}:day:20261017").toList();
+        shards.put(windowKeys.get(1), Map.of(high, 30.0));
+        shards.put(windowKeys.get(2), Map.of(low, 20.0));
+
+        assertThat(leaderboard.getTopRank(windowKeys, 10)).extracting(UserRankDto::getUserId).containsExactly(high, low);
+        assertThat(leaderboard.getUserRanksWithScores(windowKeys, List.of(low, high)))
+                .extracting(UserRankDto::getRank).containsExactly(2, 1);
+        assertThatThrownBy(() -> leaderboard.getTopRank(windowKeys.subList(0, 2), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // shard번 샤드에 들어가는 userId(prefix로 시작)를 찾아 점수 저장
+    private String put(int shard, String prefix, double score) {
+        String shardKey = leaderboard.getShardKeys().get(shard);
+        for (int i = 0; ; i++) {
+            String userId = prefix + "-" + i;
+            if (leaderboard.shardKey(userId).equals(shardKey)) {
+                shards.computeIfAbsent(shardKey, key -> new HashMap<>()).put(userId, score);
+                return userId;
+            }
+        }
+    }
+
+    private Map<String, Integer> ranksOf(List<String> userIds) {
+        return leaderboard.getUserRanksWithScores(userIds).stream()
+                .collect(Collectors.toMap(UserRankDto::getUserId, UserRankDto::getRank));
+    }
+
+    private List<Map.Entry<String, Double>> sorted(String shardKey) {
+        return shards.getOrDefault(shardKey, Map.of()).entrySet().stream()
+                .sorted(REV_ORDER)
+                .toList();
+    }
+
+    private static int indexOf(List<Map.Entry<String, Double>> sorted, String userId) {
+        List<String> members = sorted.stream().map(Map.Entry::getKey).toList();
+        return members.indexOf(userId);
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.rankingsystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WindowedLeaderboardTests {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final String RANKING_KEY = RankingService.RANKING_KEY;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisScript<Long> unionRangeScript;
+
+    @Mock
+    private ShardedLeaderboard shardedLeaderboard;
+
+    @Captor
+    private ArgumentCaptor<List<String>> scriptKeys;
+
+    private WindowedLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = windowedLeaderboard(true, List.of(WindowedLeaderboard.Window.values()));
+    }
+
+    @Test
+    void dayPeriodExpiresAfterRetention() {
+        WindowedLeaderboard.Period period = leaderboard.period(WindowedLeaderboard.Window.DAY, LocalDate.of(2026, 10, 17));
+
+        assertThat(period.key(RANKING_KEY)).isEqualTo("{userRanking}:day:20261017");
+        assertThat(period.start()).isEqualTo(LocalDate.of(2026, 10, 17));
+        assertThat(period.end()).isEqualTo(LocalDate.of(2026, 10, 18));
+        assertThat(period.expireAt()).isEqualTo(LocalDate.of(2026, 11, 22).atStartOfDay(SEOUL).toEpochSecond());
+    }
+
+    @Test
+    void weekKeyUsesIsoWeekBasedYear() {
+        // 2026-01-01(목)이 속한 주는 2025-12-29(월)에 시작하는 2026년 1주차
+        WindowedLeaderboard.Period newYear = leaderboard.period(WindowedLeaderboard.Window.WEEK, LocalDate.of(2026, 1, 1));
+        assertThat(newYear.key(RANKING_KEY)).isEqualTo("{userRanking}:week:2026-W01");
+        assertThat(newYear.start()).isEqualTo(LocalDate.of(2025, 12, 29));
+        assertThat(newYear.end()).isEqualTo(LocalDate.of(2026, 1, 5));
+
+        // 2021-01-03(일)은 2020년 53주차
+        assertThat(leaderboard.period(WindowedLeaderboard.Window.WEEK, LocalDate.of(2021, 1, 3)).key(RANKING_KEY))
+                .isEqualTo("{userRanking}:week:2020-W53");
+        // 같은 주의 월요일과 일요일은 같은 키
+        assertThat(leaderboard.period(WindowedLeaderboard.Window.WEEK, LocalDate.of(2025, 12, 29)).key(RANKING_KEY))
+                .isEqualTo(leaderboard.period(WindowedLeaderboard.Window.WEEK, LocalDate.of(2026, 1, 4)).key(RANKING_KEY));
+    }
+
+    @Test
+    void monthPeriod() {
+        WindowedLeaderboard.Period period = leaderboard.period(WindowedLeaderboard.Window.MONTH, LocalDate.of(2028, 2, 29));
+
+        assertThat(period.key(RANKING_KEY)).isEqualTo("{userRanking}:month:202802");
+        assertThat(period.start()).isEqualTo(LocalDate.of(2028, 2, 1));
+        assertThat(period.end()).isEqualTo(LocalDate.of(2028, 3, 1));
+    }
+
+    @Test
+    void seasonsAreCountedFromSeasonStart() {
+        // season.start 2026-01-01, 91일 단위
+        WindowedLeaderboard.Period first = leaderboard.period(WindowedLeaderboard.Window.SEASON, LocalDate.of(2026, 4, 1));
+        assertThat(first.key(RANKING_KEY)).isEqualTo("{userRanking}:season:1");
+        assertThat(first.start()).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(first.end()).isEqualTo(LocalDate.of(2026, 4, 2));
+
+        WindowedLeaderboard.Period second = leaderboard.period(WindowedLeaderboard.Window.SEASON, LocalDate.of(2026, 4, 2));
+        assertThat(second.key(RANKING_KEY)).isEqualTo("{userRanking}:season:2");
+        assertThat(second.start()).isEqualTo(LocalDate.of(2026, 4, 2));
+    }
+
+    @Test
+    void seasonBeforeSeasonStartRoundsDown() {
+        WindowedLeaderboard.Period period = leaderboard.period(WindowedLeaderboard.Window.SEASON, LocalDate.of(2025, 12, 31));
+
+        assertThat(period.key(RANKING_KEY)).isEqualTo("{userRanking}:season:0");
+        assertThat(period.start()).isEqualTo(LocalDate.of(2025, 10, 2));
+        assertThat(period.end()).isEqualTo(LocalDate.of(2026, 1, 1));
+    }
+
+    @Test
+    void dateResolvesToSinglePeriodKey() {
+        List<String> keys = leaderboard.resolveKeys(WindowedLeaderboard.Window.MONTH, LocalDate.of(2026, 10, 17), null, null, Aggregate.SUM);
+
+        assertThat(keys).containsExactly("{userRanking}:month:202610");
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void rangeUnionsEveryCoveredPeriod() {
+        List<String> keys = leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2026, 10, 15), LocalDate.of(2026, 10, 17), Aggregate.MAX);
+
+        assertThat(keys).containsExactly("{userRanking}:day:range:20261015-20261017:MAX");
+        verify(redisTemplate).execute(eq(unionRangeScript), scriptKeys.capture(), eq("MAX"), eq("60"));
+        assertThat(scriptKeys.getValue()).containsExactly(
+                "{userRanking}:day:range:20261015-20261017:MAX",
+                "{userRanking}:day:20261015",
+                "{userRanking}:day:20261016",
+                "{userRanking}:day:20261017");
+    }
+
+    @Test
+    void weekRangeIncludesPartiallyCoveredWeeks() {
+        // 2026-10-14(수) ~ 2026-10-20(화)은 42주차와 43주차에 걸침
+        leaderboard.resolveKeys(WindowedLeaderboard.Window.WEEK, null,
+                LocalDate.of(2026, 10, 14), LocalDate.of(2026, 10, 20), Aggregate.SUM);
+
+        verify(redisTemplate).execute(eq(unionRangeScript), scriptKeys.capture(), eq("SUM"), eq("60"));
+        assertThat(scriptKeys.getValue()).containsExactly(
+                "{userRanking}:week:range:20261014-20261020:SUM",
+                "{userRanking}:week:2026-W42",
+                "{userRanking}:week:2026-W43");
+    }
+
+    @Test
+    void rangeWithinOnePeriodSkipsUnion() {
+        List<String> keys = leaderboard.resolveKeys(WindowedLeaderboard.Window.WEEK, null,
+                LocalDate.of(2026, 10, 12), LocalDate.of(2026, 10, 18), Aggregate.SUM);
+
+        assertThat(keys).containsExactly("{userRanking}:week:2026-W42");
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shardedModeResolvesOneKeyPerShard() {
+        when(shardedLeaderboard.isEnabled()).thenReturn(true);
+        when(shardedLeaderboard.getShardKeys()).thenReturn(List.of("userRanking:shard:0", "userRanking:shard:1"));
+
+        assertThat(leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, LocalDate.of(2026, 10, 17), null, null, Aggregate.SUM))
+                .containsExactly("{userRanking:shard:0}:day:20261017", "{userRanking:shard:1}:day:20261017");
+
+        // 범위는 샤드마다 자기 샤드의 기간 키만 합침 (같은 해시 태그)
+        List<String> keys = leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2026, 10, 16), LocalDate.of(2026, 10, 17), Aggregate.SUM);
+
+        assertThat(keys).containsExactly(
+                "{userRanking:shard:0}:day:range:20261016-20261017:SUM",
+                "{userRanking:shard:1}:day:range:20261016-20261017:SUM");
+        verify(redisTemplate, times(2)).execute(eq(unionRangeScript), scriptKeys.capture(), eq("SUM"), eq("60"));
+        assertThat(scriptKeys.getAllValues()).containsExactly(
+                List.of("{userRanking:shard:0}:day:range:20261016-20261017:SUM",
+                        "{userRanking:shard:0}:day:20261016", "{userRanking:shard:0}:day:20261017"),
+                List.of("{userRanking:shard:1}:day:range:20261016-20261017:SUM",
+                        "{userRanking:shard:1}:day:20261016", "{userRanking:shard:1}:day:20261017"));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThatThrownBy(() -> leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 16), Aggregate.SUM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2026, 10, 17), null, Aggregate.SUM))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 400일을 넘는 일간 범위
+        assertThatThrownBy(() -> leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 2, 5), Aggregate.SUM))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void rangeAtPeriodCapIsAllowed() {
+        // 2025-01-01 ~ 2026-02-04 = 400일
+        leaderboard.resolveKeys(WindowedLeaderboard.Window.DAY, null,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 2, 4), Aggregate.SUM);
+
+        verify(redisTemplate).execute(eq(unionRangeScript), scriptKeys.capture(), eq("SUM"), eq("60"));
+        assertThat(scriptKeys.getValue()).hasSize(401);
+    }
+
+    @Test
+    void rejectsDisabledWindows() {
+        WindowedLeaderboard dayOnly = windowedLeaderboard(true, List.of(WindowedLeaderboard.Window.DAY));
+        WindowedLeaderboard disabled = windowedLeaderboard(false, List.of(WindowedLeaderboard.Window.values()));
+
+        assertThatThrownBy(() -> dayOnly.resolveKeys(WindowedLeaderboard.Window.WEEK, null, null, null, Aggregate.SUM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> disabled.resolveKeys(WindowedLeaderboard.Window.DAY, null, null, null, Aggregate.SUM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(disabled.currentPeriods()).isEmpty();
+        assertThat(dayOnly.currentPeriods()).singleElement()
+                .satisfies(period -> assertThat(period.key(RANKING_KEY)).startsWith("{userRanking}:day:"));
+    }
+
+    private WindowedLeaderboard windowedLeaderboard(boolean enabled, List<WindowedLeaderboard.Window> windows) {
+        return new WindowedLeaderboard(redisTemplate, unionRangeScript, shardedLeaderboard, enabled, windows, "Asia/Seoul",
+                "2026-01-01", 91, 35, 91, 366, 366, 60);
+    }
+}